@@ -0,0 +1,181 @@
+package br.com.erudio.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The response-body caches of the collection endpoints and the entity caches, and their
+ * invalidation.
+ * <p>
+ * Writes call {@link #evictAfterCommit} once they have changed rows. Inside a transaction the
+ * cache is cleared only after it commits, so a page or entity read meanwhile cannot read the old
+ * rows after the eviction; outside one it is cleared at once. Every eviction also advances the
+ * cache's generation. A page is stored with {@link #putIfCurrent} only if no eviction happened
+ * since the generation was read before rendering it, so a slow render cannot overwrite an
+ * eviction with the rows it read before the write. The caching annotations get the same guard
+ * from {@link #guarded}: a value is put back after a miss only if no eviction happened since.
+ */
+public class PageCaches {
+
+    private final CacheManager cacheManager;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, Cache> guarded = new ConcurrentHashMap<>();
+
+    public PageCaches(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public Cache get(String cacheName) {
+        return cacheManager.getCache(cacheName);
+    }
+
+    public long generation(String cacheName) {
+        return generationOf(cacheName).get();
+    }
+
+    /**
+     * The cache behind the caching annotations, which stores a value read after a miss only if
+     * {@code cacheName} was not evicted since the miss.
+     */
+    public Cache guarded(String cacheName) {
+        var cache = get(cacheName);
+        if (cache == null) throw new IllegalArgumentException("Cannot find cache named '" + cacheName + "'");
+        return guarded.computeIfAbsent(cacheName, name -> new GuardedCache(cache));
+    }
+
+    public void evictAfterCommit(String cacheName) {
+        afterCommit(() -> evict(cacheName));
+    }
+
+    public void evictAfterCommit(String cacheName, Collection<?> keys) {
+        var evicted = List.copyOf(keys);
+        afterCommit(() -> evict(cacheName, evicted));
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    /**
+     * Stores {@code value} unless {@code cacheName} was evicted after {@code generation} was read.
+     * The generation is checked again after the put: an eviction that advanced it in between has
+     * either cleared the entry already or is removed here.
+     */
+    public boolean putIfCurrent(String cacheName, Object key, Object value, long generation) {
+        var cache = get(cacheName);
+        var current = generationOf(cacheName);
+        if (cache == null || current.get() != generation) return false;
+
+        cache.put(key, value);
+        if (current.get() == generation) return true;
+        cache.evict(key);
+        return false;
+    }
+
+    private void evict(String cacheName) {
+        generationOf(cacheName).incrementAndGet();
+        var cache = get(cacheName);
+        if (cache != null) cache.clear();
+    }
+
+    private void evict(String cacheName, Collection<?> keys) {
+        generationOf(cacheName).incrementAndGet();
+        var cache = get(cacheName);
+        if (cache != null) keys.forEach(cache::evict);
+    }
+
+    private AtomicLong generationOf(String cacheName) {
+        return generations.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+
+    private record Miss(Object key, long generation) {
+    }
+
+    /**
+     * Remembers the generation at a miss; the cache interceptor then loads the value on the same
+     * thread and puts it, which succeeds only while the generation is unchanged. Puts that follow
+     * no miss, such as those of {@code @CachePut}, are stored as they are.
+     */
+    private class GuardedCache implements Cache {
+
+        private final Cache target;
+        private final ThreadLocal<Miss> miss = new ThreadLocal<>();
+
+        GuardedCache(Cache target) {
+            this.target = target;
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            var generation = generation(getName());
+            var value = target.get(key);
+            if (value == null) miss.set(new Miss(key, generation));
+            return value;
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            var generation = generation(getName());
+            var value = target.get(key, type);
+            if (value == null) miss.set(new Miss(key, generation));
+            return value;
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return target.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            var last = miss.get();
+            miss.remove();
+            if (last == null || !Objects.equals(last.key(), key)) {
+                target.put(key, value);
+                return;
+            }
+            putIfCurrent(getName(), key, value, last.generation());
+        }
+
+        @Override
+        public void evict(Object key) {
+            generationOf(getName()).incrementAndGet();
+            target.evict(key);
+        }
+
+        @Override
+        public void clear() {
+            generationOf(getName()).incrementAndGet();
+            target.clear();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package br.com.erudio.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves repeated {@code GET}s of the collection endpoints from already serialized and
+ * compressed bodies.
+ * <p>
+ * The first response for a path, query and {@code Accept} header is captured, gzipped once and
+ * stored with its {@code ETag} and {@code Link} headers. Later requests get the stored bytes
+ * written straight to the container's output stream, compressed or not depending on
+ * {@code Accept-Encoding}, or a 304 when {@code If-None-Match} still matches. The services evict
+ * the caches after every write commits, and a page rendered across an eviction is served but not
+ * stored (see {@link PageCaches}). CORS requests bypass the cache, because their headers are
+ * added per origin by Spring MVC.
+ */
+public class ResponseBodyCacheFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+    private static final Pattern QUALITY = Pattern.compile("q\\s*=\\s*([0-9.]+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ENTITY_TAG = Pattern.compile("\\*|(?:W/)?(\"[^\"]*\")");
+
+    private final PageCaches pageCaches;
+    private final Map<String, String> cacheNamesByPath;
+
+    public ResponseBodyCacheFilter(PageCaches pageCaches, Map<String, String> cacheNamesByPath) {
+        this.pageCaches = pageCaches;
+        this.cacheNamesByPath = cacheNamesByPath;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || CorsUtils.isCorsRequest(request)
+                || !cacheNamesByPath.containsKey(pathOf(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        var cacheName = cacheNamesByPath.get(pathOf(request));
+        var cache = pageCaches.get(cacheName);
+        if (cache == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        var key = keyOf(request);
+        var cached = cache.get(key, CachedBody.class);
+        if (cached == null) {
+            cached = render(request, response, chain, cacheName, key);
+            if (cached == null) return;
+        }
+
+        if (cached.eTag() != null && ifNoneMatchMatches(request, cached.eTag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, cached.eTag());
+            response.setHeader(HttpHeaders.VARY, VARY);
+            return;
+        }
+        write(cached, acceptsGzip(request), response);
+    }
+
+    /**
+     * Lets the controller render the response and caches it when it is a complete 200 and the
+     * cache was not evicted while it rendered. Anything else is copied through unchanged and
+     * {@code null} is returned.
+     */
+    private CachedBody render(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                              String cacheName, String key) throws ServletException, IOException {
+
+        var generation = pageCaches.generation(cacheName);
+        var wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || wrapper.getContentType() == null
+                || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            wrapper.copyBodyToResponse();
+            return null;
+        }
+
+        var cached = CachedBody.of(wrapper.getContentType(), wrapper.getHeader(HttpHeaders.ETAG),
+                wrapper.getHeader(HttpHeaders.LINK), wrapper.getContentAsByteArray());
+        pageCaches.putIfCurrent(cacheName, key, cached, generation);
+        wrapper.resetBuffer();
+        return cached;
+    }
+
+    private static void write(CachedBody cached, boolean gzip, HttpServletResponse response) throws IOException {
+        var body = gzip ? cached.gzipped() : cached.raw();
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.setHeader(HttpHeaders.VARY, VARY);
+        if (gzip) response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        if (cached.eTag() != null) response.setHeader(HttpHeaders.ETAG, cached.eTag());
+        if (cached.link() != null) response.setHeader(HttpHeaders.LINK, cached.link());
+
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Whether an {@code If-None-Match} entity tag matches {@code eTag}: {@code *} or, as
+     * {@code If-None-Match} compares weakly, the same opaque tag with or without {@code W/}. The
+     * header may list several tags, over several lines.
+     */
+    private static boolean ifNoneMatchMatches(HttpServletRequest request, String eTag) {
+        var current = ENTITY_TAG.matcher(eTag.trim());
+        if (!current.matches()) return false;
+        var opaqueTag = current.group(1);
+
+        var headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers != null && headers.hasMoreElements()) {
+            var matcher = ENTITY_TAG.matcher(headers.nextElement());
+            while (matcher.find()) {
+                if (matcher.group(1) == null || matcher.group(1).equals(opaqueTag)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} gives gzip, either by name or through {@code *}, a quality
+     * above zero. An explicit {@code gzip;q=0} refuses it even when {@code *} is accepted.
+     */
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        var acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) return false;
+
+        double gzip = -1, any = -1;
+        for (var coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            var name = parameters[0].trim();
+            var quality = 1.0;
+            for (int i = 1; i < parameters.length; i++) {
+                var matcher = QUALITY.matcher(parameters[i].trim());
+                if (matcher.matches()) quality = parseQuality(matcher.group(1));
+            }
+            if (GZIP.equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) gzip = Math.max(gzip, quality);
+            else if ("*".equals(name)) any = quality;
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    private static double parseQuality(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String keyOf(HttpServletRequest request) {
+        var query = request.getQueryString();
+        var accept = request.getHeader(HttpHeaders.ACCEPT);
+        return pathOf(request) + (query == null ? "" : "?" + query) + " " + (accept == null ? "*/*" : accept);
+    }
+
+    /**
+     * A rendered response body, kept both as written by the message converter and gzipped.
+     */
+    public record CachedBody(String contentType, String eTag, String link, byte[] raw, byte[] gzipped)
+            implements Serializable {
+
+        static CachedBody of(String contentType, String eTag, String link, byte[] raw) {
+            return new CachedBody(contentType, eTag, link, raw, gzip(raw));
+        }
+
+        public int size() {
+            return raw.length + gzipped.length;
+        }
+
+        private static byte[] gzip(byte[] raw) {
+            var out = new ByteArrayOutputStream(raw.length / 4 + 64);
+            try (var gzip = new GZIPOutputStream(out)) {
+                gzip.write(raw);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.erudio.config;
+
+import br.com.erudio.cache.PageCaches;
+import br.com.erudio.cache.ResponseBodyCacheFilter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+@EnableCaching
+public class CacheConfig implements CachingConfigurer {
+
+    public static final String PEOPLE = "people";
+    public static final String BOOKS = "books";
+
+    public static final String PEOPLE_PAGES = "people-pages";
+    public static final String BOOKS_PAGES = "books-pages";
+
+    private static final String PEOPLE_PATH = "/api/person/v1";
+    private static final String BOOKS_PATH = "/api/book/v1";
+
+    private static final long MAX_PAGE_BYTES = 32L * 1024 * 1024;
+
+    @Autowired
+    private ObjectProvider<PageCaches> pageCaches;
+
+    /**
+     * The caching annotations use the guarded caches of {@link PageCaches}, so a read that missed
+     * before a write committed cannot put the old row back after the write's eviction.
+     */
+    @Override
+    public CacheResolver cacheResolver() {
+        return context -> context.getOperation().getCacheNames().stream()
+                .map(name -> pageCaches.getObject().guarded(name))
+                .toList();
+    }
+
+    /**
+     * Response-body caches for the collection endpoints, bounded by the bytes they hold
+     * rather than by entry count.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> pageCachesCustomizer() {
+        return cacheManager -> {
+            for (var name : new String[] {PEOPLE_PAGES, BOOKS_PAGES}) {
+                cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                        .maximumWeight(MAX_PAGE_BYTES)
+                        .weigher((Object key, Object value) ->
+                                value instanceof ResponseBodyCacheFilter.CachedBody body ? body.size() : 1)
+                        .expireAfterWrite(Duration.ofMinutes(10))
+                        .recordStats()
+                        .build());
+            }
+        };
+    }
+
+    @Bean
+    public PageCaches pageCaches(CacheManager cacheManager) {
+        return new PageCaches(cacheManager);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseBodyCacheFilter> responseBodyCacheFilter(PageCaches pageCaches) {
+        var registration = new FilterRegistrationBean<>(new ResponseBodyCacheFilter(pageCaches,
+                Map.of(PEOPLE_PATH, PEOPLE_PAGES, BOOKS_PATH, BOOKS_PAGES)));
+        registration.addUrlPatterns(PEOPLE_PATH, BOOKS_PATH);
+        return registration;
+    }
+
+}
@@ -0,0 +1,105 @@
+package br.com.erudio.config;
+
+import br.com.erudio.datasource.RecentWrites;
+import br.com.erudio.datasource.ReplicaFallbackDataSource;
+import br.com.erudio.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write splitting, active when {@code datasource.replica.url} is set.
+ * <p>
+ * The application's {@code DataSource} is a {@link LazyConnectionDataSourceProxy} over the
+ * primary pool. A {@code @Transactional(readOnly = true)} transaction marks its connection
+ * read-only before running any statement, and the proxy then takes the real connection from the
+ * read-only target instead: the replica pool, or the primary while the replica lags by more than
+ * {@code datasource.replica.max-lag} or is down. Everything else, Flyway included, uses the
+ * primary. The replica pool copies the primary pool's settings, with
+ * {@code datasource.replica.hikari.*} overriding them.
+ * <p>
+ * {@link RecentWrites} is defined either way, so the services can record writes and route reads
+ * without knowing whether a replica is configured; without one it does nothing.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Value("${datasource.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${datasource.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.max-lag:5s}")
+    private Duration maxLag;
+
+    @Value("${datasource.replica.check-interval:1s}")
+    private Duration checkInterval;
+
+    @Value("${datasource.replica.lag-query:}")
+    private String lagQuery;
+
+    @Bean
+    public RecentWrites recentWrites() {
+        return new RecentWrites(replicaUrl.isEmpty() ? Duration.ZERO : maxLag.plus(checkInterval));
+    }
+
+    @Bean
+    @ConditionalOnProperty("datasource.replica.url")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConditionalOnProperty("datasource.replica.url")
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("primaryDataSource") HikariDataSource primary) {
+        var replica = new HikariDataSource();
+        primary.copyStateTo(replica);
+        replica.setPoolName(primary.getPoolName() == null ? "replica" : primary.getPoolName() + "-replica");
+        replica.setJdbcUrl(replicaUrl);
+        if (!replicaUsername.isEmpty()) replica.setUsername(replicaUsername);
+        if (!replicaPassword.isEmpty()) replica.setPassword(replicaPassword);
+        replica.setReadOnly(true);
+        // a lagging or dead replica must not hold reads for the primary pool's full timeout
+        replica.setConnectionTimeout(Math.min(primary.getConnectionTimeout(), 1000));
+        return replica;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty("datasource.replica.url")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               ObjectProvider<MeterRegistry> registry) {
+        return new ReplicaLagMonitor(replica, maxLag, checkInterval, lagQuery,
+                registry.getIfAvailable(() -> Metrics.globalRegistry)).start();
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty("datasource.replica.url")
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor monitor, RecentWrites recentWrites) {
+        var dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaFallbackDataSource(replica, primary, monitor, recentWrites));
+        return dataSource;
+    }
+
+}
@@ -1,10 +1,23 @@
 package br.com.erudio.config;
 
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.serialization.SerializationRuntimeHints;
+import br.com.erudio.serialization.converter.ProtobufJackson2HttpMessageConverter;
 import br.com.erudio.serialization.converter.YamlJackson2HttpMesageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -12,16 +25,36 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import java.util.List;
 
 @Configuration
+@ImportRuntimeHints(SerializationRuntimeHints.class)
 public class WebConfig implements WebMvcConfigurer {
 
     private static final MediaType MEDIA_TYPE_APPLICATION_YAML = MediaType.valueOf("application/x-yaml");
+    private static final MediaType MEDIA_TYPE_APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final MediaType MEDIA_TYPE_APPLICATION_PROTOBUF = MediaType.valueOf("application/x-protobuf");
 
     @Value("${cors.originPatterns:default}")
     private String corsOriginPatterns = "";
 
+    @Value("${yaml.minimize-quotes:false}")
+    private boolean yamlMinimizeQuotes;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder jacksonBuilder;
+
     @Override
     public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
-        converters.add(new YamlJackson2HttpMesageConverter());
+        converters.add(new YamlJackson2HttpMesageConverter(yamlMinimizeQuotes).warmUp(
+                PersonVO.class, BookVO.class,
+                ResolvableType.forClassWithGenerics(List.class, PersonVO.class).getType(),
+                ResolvableType.forClassWithGenerics(List.class, BookVO.class).getType()));
+
+        // Spring MVC already registers CBOR and Smile when they are on the classpath; replace them
+        // with converters built from Boot's Jackson settings so the binary formats match JSON
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(jacksonBuilder.factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(jacksonBuilder.factory(new SmileFactory()).build()));
+        converters.add(new ProtobufJackson2HttpMessageConverter());
     }
 
     @Override
@@ -31,6 +64,7 @@ public class WebConfig implements WebMvcConfigurer {
 //                .allMethods("GET", "POST", "PUT")
                 .allowedMethods("*")
                 .allowedOrigins(allowedOrigins)
+                .exposedHeaders(HttpHeaders.LINK)
                 .allowCredentials(true);
     }
 
@@ -53,7 +87,10 @@ public class WebConfig implements WebMvcConfigurer {
                 .defaultContentType(MediaType.APPLICATION_JSON)
                 .mediaType("json", MediaType.APPLICATION_JSON)
                 .mediaType("xml", MediaType.APPLICATION_XML)
-                .mediaType("x-yaml", MEDIA_TYPE_APPLICATION_YAML);
+                .mediaType("x-yaml", MEDIA_TYPE_APPLICATION_YAML)
+                .mediaType("cbor", MediaType.APPLICATION_CBOR)
+                .mediaType("smile", MEDIA_TYPE_APPLICATION_SMILE)
+                .mediaType("x-protobuf", MEDIA_TYPE_APPLICATION_PROTOBUF);
     }
 
 
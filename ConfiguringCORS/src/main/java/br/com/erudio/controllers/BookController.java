@@ -3,6 +3,8 @@ package br.com.erudio.controllers;
 import br.com.erudio.data.vo.v1.BookVO;
 import br.com.erudio.data.vo.v1.PersonVO;
 import br.com.erudio.services.BookServices;
+import br.com.erudio.util.ETags;
+import br.com.erudio.util.Fieldsets;
 import br.com.erudio.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -11,21 +13,31 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 @RestController
 @RequestMapping("/api/book/v1")
 @Tag(name = "Book", description = "Endpoints for Managing Books")
 public class BookController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     BookServices services;
 
     @GetMapping(value = "/{id}",
-            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF
             })
     @Operation(
             summary = "Finds a Book",
@@ -35,22 +47,27 @@ public class BookController {
                     @ApiResponse(description = "Success", responseCode = "200",
                             content = @Content(schema = @Schema(implementation = BookVO.class))),
                     @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+                    @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "404", content = @Content)
             }
     )
-    public BookVO findById(@PathVariable(value = "id") Long id) throws Exception {
-        return services.findById(id);
+    public BookVO findById(@PathVariable(value = "id") Long id, WebRequest request) throws Exception {
+        // null once checkNotModified has answered 304 with the ETag
+        return services.findById(id, request::checkNotModified);
     }
 
     @GetMapping(
-            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML}
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF}
     )
     @Operation(
             summary = "Finds all Books",
-            description = "Finds all Books",
+            description = "Finds a page of Books ordered by ID, starting after the given ID. " +
+                    "The next page is advertised in the Link header, and the page carries a weak ETag. " +
+                    "Pass fields=id,... to read and return only those fields.",
             tags = { "Book" },
             responses = {
                     @ApiResponse(description = "Success", responseCode = "200",
@@ -60,20 +77,106 @@ public class BookController {
                                             array = @ArraySchema(schema = @Schema(implementation = BookVO.class))
                                     )
                             }),
+                    @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "404", content = @Content)
             }
     )
-    public List<BookVO> findAll() {
-        return services.findAll();
+    public ResponseEntity<List<BookVO>> findAll(
+            @RequestParam(value = "after", defaultValue = "0") Long after,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+
+        var pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        var fieldset = Fieldsets.parse(fields, BookVO.class);
+        var books = services.findAll(after, pageSize, fieldset, request::checkNotModified);
+        if (books == null) return null;
+
+        var response = ResponseEntity.ok();
+        if (books.size() == pageSize) {
+            var lastKey = books.get(books.size() - 1).getKey();
+            response.header(HttpHeaders.LINK, linkTo(methodOn(BookController.class)
+                    .findAll(lastKey, pageSize, fields, null)).withRel(IanaLinkRelations.NEXT).toString());
+        }
+        return response.body(books);
+    }
+
+    @GetMapping(value = "/search",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF}
+    )
+    @Operation(
+            summary = "Searches Books",
+            description = "Full-text search over title and author. Every word must match, as a whole word or a prefix. " +
+                    "Results are ordered by ID, starting after the given ID; the next page is advertised in the Link header.",
+            tags = { "Book" },
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = BookVO.class))
+                                    )
+                            }),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<List<BookVO>> search(
+            @RequestParam(value = "q") String q,
+            @RequestParam(value = "after", defaultValue = "0") Long after,
+            @RequestParam(value = "size", defaultValue = "12") Integer size) {
+
+        var pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        var books = services.search(q, after, pageSize);
+
+        var response = ResponseEntity.ok();
+        if (books.size() == pageSize) {
+            var lastKey = books.get(books.size() - 1).getKey();
+            response.header(HttpHeaders.LINK, linkTo(methodOn(BookController.class)
+                    .search(q, lastKey, pageSize)).withRel(IanaLinkRelations.NEXT).toString());
+        }
+        return response.body(books);
+    }
+
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON, MediaType.TEXT_CSV})
+    @Operation(
+            summary = "Exports all Books",
+            description = "Streams the whole table as NDJSON or, with Accept: text/csv, as CSV. " +
+                    "Rows are written as they are read, so memory use does not grow with the table.",
+            tags = { "Book" },
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200", content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON,
+                                    schema = @Schema(implementation = BookVO.class)),
+                            @Content(mediaType = MediaType.TEXT_CSV)
+                    }),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_NDJSON) String accept) {
+
+        var mediaType = accept.contains(MediaType.TEXT_CSV) ? MediaType.TEXT_CSV : MediaType.APPLICATION_NDJSON;
+        var fileName = MediaType.TEXT_CSV.equals(mediaType) ? "books.csv" : "books.ndjson";
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(out -> services.export(out, mediaType));
     }
 
     @PostMapping(
-            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML},
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF},
             produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
-                    "application/x-yaml"})
+                    "application/x-yaml",
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF})
     @Operation(
             summary = "Adds a new Book",
             description = "Adds a new Book by passing in a JSON, XML or YAML representation of the person!",
@@ -91,11 +194,14 @@ public class BookController {
     }
 
     @PutMapping(
-            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML},
-            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML})
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF},
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF})
     @Operation(
             summary = "Updates a Book",
-            description = "Updates a Book by passing in a JSON, XML or YAML representation of the person!",
+            description = "Updates a Book by passing in a JSON, XML or YAML representation of the person! " +
+                    "With If-Match, the update only applies if that ETag is still current, and the response carries the new ETag.",
             tags = { "Book" },
             responses = {
                     @ApiResponse(description = "Updated", responseCode = "200",
@@ -103,11 +209,19 @@ public class BookController {
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+                    @ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "404", content = @Content)
             }
     )
-    public BookVO update(@RequestBody BookVO book) throws Exception {
-        return services.update(book);
+    public ResponseEntity<BookVO> update(
+            @RequestBody BookVO book,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception {
+
+        var updated = services.update(book, ETags.version(ifMatch));
+        var response = ResponseEntity.ok();
+        // the new version is only known without a re-read when If-Match named the old one
+        if (updated.getVersion() != null) response.eTag(ETags.strong(updated.getVersion()));
+        return response.body(updated);
     }
 
     @DeleteMapping(value = "/{id}")
@@ -127,4 +241,77 @@ public class BookController {
         services.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF},
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF})
+    @Operation(
+            summary = "Adds a batch of Books",
+            description = "Adds several Books in a single transaction, inserted with JDBC batching.",
+            tags = { "Book" },
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = BookVO.class))
+                                    )
+                            }),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public List<BookVO> createAll(@RequestBody List<BookVO> books) throws Exception {
+        return services.createAll(books);
+    }
+
+    @PutMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF},
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF})
+    @Operation(
+            summary = "Updates a batch of Books",
+            description = "Updates several Books in a single transaction. Nothing is changed if any ID is unknown.",
+            tags = { "Book" },
+            responses = {
+                    @ApiResponse(description = "Updated", responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = BookVO.class))
+                                    )
+                            }),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public List<BookVO> updateAll(@RequestBody List<BookVO> books) throws Exception {
+        return services.updateAll(books);
+    }
+
+    @DeleteMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF})
+    @Operation(
+            summary = "Deletes a batch of Books",
+            description = "Deletes the Books with the given IDs in a single statement. Nothing is deleted if any ID is unknown.",
+            tags = { "Book" },
+            responses = {
+                    @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<?> deleteAll(@RequestBody List<Long> ids) throws Exception {
+        services.deleteAll(ids);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -3,6 +3,8 @@ package br.com.erudio.controllers;
 import br.com.erudio.data.vo.v1.PersonVO;
 import br.com.erudio.data.vo.v2.PersonVOV2;
 import br.com.erudio.services.PersonServices;
+import br.com.erudio.util.ETags;
+import br.com.erudio.util.Fieldsets;
 import br.com.erudio.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -11,22 +13,32 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 @RestController
 @RequestMapping("/api/person/v1")
 @Tag(name = "People", description = "Endpoints for Managing People")
 public class PersonController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private PersonServices service;
 
     @CrossOrigin(origins = "http://localhost:8080")
     @GetMapping(value = "/{id}",
-            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF
             })
     @Operation(
             summary = "Finds a Person",
@@ -36,22 +48,27 @@ public class PersonController {
                     @ApiResponse(description = "Success", responseCode = "200",
                             content = @Content(schema = @Schema(implementation = PersonVO.class))),
                     @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+                    @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "404", content = @Content)
             }
     )
-    public PersonVO findById(@PathVariable(value = "id") Long id) throws Exception {
-        return service.findById(id);
+    public PersonVO findById(@PathVariable(value = "id") Long id, WebRequest request) throws Exception {
+        // null once checkNotModified has answered 304 with the ETag
+        return service.findById(id, request::checkNotModified);
     }
 
     @GetMapping(
-            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML}
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF}
     )
     @Operation(
             summary = "Finds all People",
-            description = "Finds all People",
+            description = "Finds a page of People ordered by ID, starting after the given ID. " +
+                    "The next page is advertised in the Link header, and the page carries a weak ETag. " +
+                    "Pass fields=id,... to read and return only those fields.",
             tags = { "People" },
             responses = {
                     @ApiResponse(description = "Success", responseCode = "200",
@@ -61,21 +78,107 @@ public class PersonController {
                                     array = @ArraySchema(schema = @Schema(implementation = PersonVO.class))
                             )
                             }),
+                    @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "404", content = @Content)
             }
     )
-    public List<PersonVO> findAll() {
-        return service.findAll();
+    public ResponseEntity<List<PersonVO>> findAll(
+            @RequestParam(value = "after", defaultValue = "0") Long after,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest request) {
+
+        var pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        var fieldset = Fieldsets.parse(fields, PersonVO.class);
+        var people = service.findAll(after, pageSize, fieldset, request::checkNotModified);
+        if (people == null) return null;
+
+        var response = ResponseEntity.ok();
+        if (people.size() == pageSize) {
+            var lastKey = people.get(people.size() - 1).getKey();
+            response.header(HttpHeaders.LINK, linkTo(methodOn(PersonController.class)
+                    .findAll(lastKey, pageSize, fields, null)).withRel(IanaLinkRelations.NEXT).toString());
+        }
+        return response.body(people);
+    }
+
+    @GetMapping(value = "/search",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF}
+    )
+    @Operation(
+            summary = "Searches People",
+            description = "Finds a page of People whose first or last name starts with the given name, ordered by ID " +
+                    "and starting after the given ID. The next page is advertised in the Link header.",
+            tags = { "People" },
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = PersonVO.class))
+                                    )
+                            }),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<List<PersonVO>> search(
+            @RequestParam(value = "name") String name,
+            @RequestParam(value = "after", defaultValue = "0") Long after,
+            @RequestParam(value = "size", defaultValue = "12") Integer size) {
+
+        var pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        var people = service.search(name, after, pageSize);
+
+        var response = ResponseEntity.ok();
+        if (people.size() == pageSize) {
+            var lastKey = people.get(people.size() - 1).getKey();
+            response.header(HttpHeaders.LINK, linkTo(methodOn(PersonController.class)
+                    .search(name, lastKey, pageSize)).withRel(IanaLinkRelations.NEXT).toString());
+        }
+        return response.body(people);
+    }
+
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON, MediaType.TEXT_CSV})
+    @Operation(
+            summary = "Exports all People",
+            description = "Streams the whole table as NDJSON or, with Accept: text/csv, as CSV. " +
+                    "Rows are written as they are read, so memory use does not grow with the table.",
+            tags = { "People" },
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200", content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON,
+                                    schema = @Schema(implementation = PersonVO.class)),
+                            @Content(mediaType = MediaType.TEXT_CSV)
+                    }),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_NDJSON) String accept) {
+
+        var mediaType = accept.contains(MediaType.TEXT_CSV) ? MediaType.TEXT_CSV : MediaType.APPLICATION_NDJSON;
+        var fileName = MediaType.TEXT_CSV.equals(mediaType) ? "people.csv" : "people.ndjson";
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(out -> service.export(out, mediaType));
     }
 
     @CrossOrigin(origins = {"http://localhost:8080", "https://erudio.com.br"})
     @PostMapping(
-            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML},
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF},
             produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
-                    "application/x-yaml"})
+                    "application/x-yaml",
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF})
     @Operation(
             summary = "Adds a new Person",
             description = "Adds a new Person by passing in a JSON, XML or YAML representation of the person!",
@@ -101,11 +204,14 @@ public class PersonController {
 //    }
 
     @PutMapping(
-            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML},
-            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML})
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF},
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF})
     @Operation(
             summary = "Updates a Person",
-            description = "Updates a Person by passing in a JSON, XML or YAML representation of the person!",
+            description = "Updates a Person by passing in a JSON, XML or YAML representation of the person! " +
+                    "With If-Match, the update only applies if that ETag is still current, and the response carries the new ETag.",
             tags = { "People" },
             responses = {
                     @ApiResponse(description = "Updated", responseCode = "200",
@@ -113,11 +219,19 @@ public class PersonController {
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
                     @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+                    @ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "404", content = @Content)
             }
     )
-    public PersonVO update(@RequestBody PersonVO person) throws Exception {
-        return service.update(person);
+    public ResponseEntity<PersonVO> update(
+            @RequestBody PersonVO person,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception {
+
+        var updated = service.update(person, ETags.version(ifMatch));
+        var response = ResponseEntity.ok();
+        // the new version is only known without a re-read when If-Match named the old one
+        if (updated.getVersion() != null) response.eTag(ETags.strong(updated.getVersion()));
+        return response.body(updated);
     }
 
     @DeleteMapping(value = "/{id}")
@@ -138,4 +252,76 @@ public class PersonController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF},
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF})
+    @Operation(
+            summary = "Adds a batch of People",
+            description = "Adds several People in a single transaction, inserted with JDBC batching.",
+            tags = { "People" },
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = PersonVO.class))
+                                    )
+                            }),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public List<PersonVO> createAll(@RequestBody List<PersonVO> people) throws Exception {
+        return service.createAll(people);
+    }
+
+    @PutMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF},
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF})
+    @Operation(
+            summary = "Updates a batch of People",
+            description = "Updates several People in a single transaction. Nothing is changed if any ID is unknown.",
+            tags = { "People" },
+            responses = {
+                    @ApiResponse(description = "Updated", responseCode = "200",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = PersonVO.class))
+                                    )
+                            }),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public List<PersonVO> updateAll(@RequestBody List<PersonVO> people) throws Exception {
+        return service.updateAll(people);
+    }
+
+    @DeleteMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE, MediaType.APPLICATION_PROTOBUF})
+    @Operation(
+            summary = "Deletes a batch of People",
+            description = "Deletes the People with the given IDs in a single statement. Nothing is deleted if any ID is unknown.",
+            tags = { "People" },
+            responses = {
+                    @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<?> deleteAll(@RequestBody List<Long> ids) throws Exception {
+        service.deleteAll(ids);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,5 +1,7 @@
 package br.com.erudio.data.vo.v1;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.github.dozermapper.core.Mapping;
@@ -22,6 +24,9 @@ public class BookVO extends RepresentationModel<BookVO> implements Serializable
     private Double price;
     private String title;
 
+    @JsonIgnore
+    private Long version;
+
     public Long getKey() {
         return key;
     }
@@ -62,6 +67,14 @@ public class BookVO extends RepresentationModel<BookVO> implements Serializable
         this.title = title;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -87,4 +100,14 @@ public class BookVO extends RepresentationModel<BookVO> implements Serializable
         result = 31 * result + (title != null ? title.hashCode() : 0);
         return result;
     }
+
+    /**
+     * A page row filled from a {@code ?fields=} projection. Only the requested properties are set,
+     * and the others are left out of the body instead of being written as {@code null}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Sparse extends BookVO {
+
+        private static final long serialVersionUID = 1L;
+    }
 }
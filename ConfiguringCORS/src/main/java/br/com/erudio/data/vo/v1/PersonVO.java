@@ -1,5 +1,7 @@
 package br.com.erudio.data.vo.v1;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.github.dozermapper.core.Mapping;
@@ -20,6 +22,9 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
     private String address;
     private String gender;
 
+    @JsonIgnore
+    private Long version;
+
     public PersonVO() {}
 
     public Long getKey() {
@@ -62,6 +67,14 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
         this.gender = gender;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -110,4 +123,14 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
             return false;
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * A page row filled from a {@code ?fields=} projection. Only the requested properties are set,
+     * and the others are left out of the body instead of being written as {@code null}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Sparse extends PersonVO {
+
+        private static final long serialVersionUID = 1L;
+    }
+}
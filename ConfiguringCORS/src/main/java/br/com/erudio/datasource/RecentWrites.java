@@ -0,0 +1,98 @@
+package br.com.erudio.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes for the replica routing: reads of rows this instance wrote within the last
+ * {@code window} go to the primary, however small the lag the replica reports.
+ * <p>
+ * A replica within {@code max-lag} may still miss a write made a moment ago. Served from it, the
+ * read would also put the old row back into the entity or page cache the write has just evicted,
+ * where it would stay until the cache expires rather than until the replica catches up. Writes
+ * therefore call {@link #recordAfterCommit} with the ids they changed, and read-only service
+ * methods call {@link #readFromPrimaryIfWritten} before their first query: when the row, or for a
+ * page or search any row of the entity, was written within the window, the transaction's
+ * connection comes from the primary. The window is {@code max-lag} plus {@code check-interval},
+ * the most the replica can be behind while it is considered usable; without a replica it is zero
+ * and nothing is recorded.
+ */
+public class RecentWrites {
+
+    private record Row(Class<?> entity, Object id) {
+    }
+
+    private final long windowNanos;
+    private final Ticker ticker;
+    private final Map<Class<?>, Long> entities = new ConcurrentHashMap<>();
+    private final Cache<Row, Boolean> rows;
+    private final ThreadLocal<Boolean> primaryRequired = new ThreadLocal<>();
+
+    public RecentWrites(Duration window) {
+        this(window, Ticker.systemTicker());
+    }
+
+    public RecentWrites(Duration window, Ticker ticker) {
+        this.windowNanos = window.toNanos();
+        this.ticker = ticker;
+        this.rows = Caffeine.newBuilder().expireAfterWrite(window).ticker(ticker).build();
+    }
+
+    /**
+     * Records the write now, so reads racing the commit already use the primary, and again after
+     * the surrounding transaction commits, so the window is counted from the commit.
+     */
+    public void recordAfterCommit(Class<?> entity, Collection<?> ids) {
+        if (windowNanos <= 0 || ids.isEmpty()) return;
+        var written = List.copyOf(ids);
+        record(entity, written);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(entity, written);
+            }
+        });
+    }
+
+    public void readFromPrimaryIfWritten(Class<?> entity) {
+        var written = entities.get(entity);
+        if (written != null && ticker.read() - written < windowNanos) requirePrimary();
+    }
+
+    public void readFromPrimaryIfWritten(Class<?> entity, Object id) {
+        if (rows.getIfPresent(new Row(entity, id)) != null) requirePrimary();
+    }
+
+    /**
+     * Whether the current transaction must read from the primary. Cleared when it completes.
+     */
+    public boolean isPrimaryRequired() {
+        return primaryRequired.get() != null;
+    }
+
+    private void record(Class<?> entity, Collection<?> ids) {
+        entities.put(entity, ticker.read());
+        ids.forEach(id -> rows.put(new Row(entity, id), Boolean.TRUE));
+    }
+
+    private void requirePrimary() {
+        if (isPrimaryRequired() || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+        primaryRequired.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                primaryRequired.remove();
+            }
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.erudio.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The read-only target of the routing proxy: connections come from the replica while
+ * {@link ReplicaLagMonitor} considers it usable, and from the primary otherwise, when the
+ * replica refuses a connection, or when {@link RecentWrites} requires the primary for the
+ * current transaction.
+ */
+public class ReplicaFallbackDataSource extends DelegatingDataSource {
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor monitor;
+    private final RecentWrites recentWrites;
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary, ReplicaLagMonitor monitor,
+                                     RecentWrites recentWrites) {
+        super(replica);
+        this.primary = primary;
+        this.monitor = monitor;
+        this.recentWrites = recentWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (recentWrites.isPrimaryRequired() || !monitor.isReplicaUsable()) return primary.getConnection();
+        try {
+            return obtainTargetDataSource().getConnection();
+        } catch (SQLException e) {
+            monitor.markUnavailable(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (recentWrites.isPrimaryRequired() || !monitor.isReplicaUsable()) return primary.getConnection(username, password);
+        try {
+            return obtainTargetDataSource().getConnection(username, password);
+        } catch (SQLException e) {
+            monitor.markUnavailable(e);
+            return primary.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.erudio.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the replica's replication lag on a background thread and tells the read path whether
+ * the replica may serve reads.
+ * <p>
+ * By default the lag is {@code Seconds_Behind_Source} from {@code SHOW REPLICA STATUS}. A
+ * {@code lagQuery} returning the lag in seconds as its first column, such as one over a
+ * pt-heartbeat table, replaces it. The replica is usable only while the last check succeeded and
+ * measured at most {@code maxLag}; a failed check, stopped replication or a missing status row
+ * sends reads to the primary until a later check succeeds. The lag is exported as the
+ * {@code datasource.replica.lag} gauge, {@code NaN} while unknown.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String REPLICA_STATUS = "SHOW REPLICA STATUS";
+    private static final String SECONDS_BEHIND = "Seconds_Behind_Source";
+
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final String lagQuery;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration checkInterval, String lagQuery) {
+        this(replica, maxLag, checkInterval, lagQuery, Metrics.globalRegistry);
+    }
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration checkInterval, String lagQuery,
+                             MeterRegistry registry) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-lag-monitor").daemon().factory());
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read replica, NaN while unknown")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public ReplicaLagMonitor start() {
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Called by the read path when the replica refused a connection, so later reads skip it
+     * without waiting for the next check.
+     */
+    public void markUnavailable(SQLException cause) {
+        if (usable) logger.warn("Replica unavailable, reading from the primary: {}", cause.getMessage());
+        usable = false;
+        lagSeconds = Double.NaN;
+    }
+
+    public void check() {
+        Double lag;
+        try {
+            lag = measureLag();
+        } catch (SQLException | RuntimeException e) {
+            if (usable) logger.warn("Replica lag check failed, reading from the primary: {}", e.getMessage());
+            lag = null;
+        }
+
+        boolean nowUsable = lag != null && lag <= maxLag.toMillis() / 1000.0;
+        if (nowUsable != usable) {
+            logger.info("Replica {} for reads (lag {}s, max {}s)", nowUsable ? "enabled" : "disabled",
+                    lag, maxLag.toSeconds());
+        }
+        lagSeconds = lag == null ? Double.NaN : lag;
+        usable = nowUsable;
+    }
+
+    /**
+     * The lag in seconds, or {@code null} when it is unknown.
+     */
+    private Double measureLag() throws SQLException {
+        try (var connection = replica.getConnection();
+             var statement = connection.createStatement();
+             var result = statement.executeQuery(lagQuery != null ? lagQuery : REPLICA_STATUS)) {
+            if (!result.next()) return null;
+            var lag = lagQuery != null ? result.getObject(1) : result.getObject(SECONDS_BEHIND);
+            return lag instanceof Number number ? number.doubleValue() : null;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
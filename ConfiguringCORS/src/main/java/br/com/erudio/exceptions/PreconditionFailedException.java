@@ -0,0 +1,27 @@
+package br.com.erudio.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Thrown for every stale or malformed {@code If-Match}; stackless, so it can be shared between requests.
+     */
+    public static final PreconditionFailedException CHANGED = new PreconditionFailedException();
+
+    /**
+     * A failed precondition is a normal answer, so no stack trace is captured.
+     */
+    public PreconditionFailedException(String ex) {
+        super(ex, null, false, false);
+    }
+
+    public PreconditionFailedException() {
+        this("The resource was changed since it was read!");
+    }
+
+}
@@ -8,12 +8,20 @@ public class RequiredObjectIsNull extends RuntimeException {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Thrown for every null body; stackless, so it can be shared between requests.
+     */
+    public static final RequiredObjectIsNull NULL_OBJECT = new RequiredObjectIsNull();
+
+    /**
+     * A rejected request is a normal answer, so no stack trace is captured.
+     */
     public RequiredObjectIsNull(String ex) {
-        super(ex);
+        super(ex, null, false, false);
     }
 
     public RequiredObjectIsNull() {
-        super("It is not allowed to persist a null object!");
+        this("It is not allowed to persist a null object!");
     }
 
 }
@@ -2,13 +2,17 @@ package br.com.erudio.exceptions.handler;
 
 import java.util.Date;
 
+import br.com.erudio.exceptions.InvalidParameterException;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.RequiredObjectIsNull;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import br.com.erudio.exceptions.ExceptionsResponse;
@@ -18,24 +22,39 @@ import br.com.erudio.exceptions.ResourceNotFoundException;
 @RestController
 public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExceptionHandler{
 
+    private static final Logger logger = LoggerFactory.getLogger(CustomizedResponseEntityExceptionHandler.class);
+
     @ExceptionHandler(Exception.class)
-    public final ResponseEntity<ExceptionsResponse> handleAllExceptions(Exception ex, WebRequest request) {
-        ExceptionsResponse exceptionResponse = new ExceptionsResponse(
-                new Date(), ex.getMessage(), request.getDescription(false));
-        return new ResponseEntity<>(exceptionResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    public final ResponseEntity<ExceptionsResponse> handleAllExceptions(Exception ex, HttpServletRequest request) {
+        logger.error("Unhandled exception for {}", request.getRequestURI(), ex);
+        return response(HttpStatus.INTERNAL_SERVER_ERROR, ex, request);
     }
     @ExceptionHandler(ResourceNotFoundException.class)
-    public final ResponseEntity<ExceptionsResponse> handleNotFoundExceptions(Exception ex, WebRequest request) {
-        ExceptionsResponse exceptionResponse = new ExceptionsResponse(
-                new Date(), ex.getMessage(), request.getDescription(false));
-        return new ResponseEntity<>(exceptionResponse, HttpStatus.NOT_FOUND);
+    public final ResponseEntity<ExceptionsResponse> handleNotFoundExceptions(Exception ex, HttpServletRequest request) {
+        return response(HttpStatus.NOT_FOUND, ex, request);
+    }
+
+    @ExceptionHandler({RequiredObjectIsNull.class, InvalidParameterException.class})
+    public final ResponseEntity<ExceptionsResponse> handleBadRequestExceptions(Exception ex, HttpServletRequest request) {
+        return response(HttpStatus.BAD_REQUEST, ex, request);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public final ResponseEntity<ExceptionsResponse> handlePreconditionFailedExceptions(Exception ex, HttpServletRequest request) {
+        return response(HttpStatus.PRECONDITION_FAILED, ex, request);
     }
 
-    @ExceptionHandler(RequiredObjectIsNull.class)
-    public final ResponseEntity<ExceptionsResponse> handleBadRequestExceptions(Exception ex, WebRequest request) {
-        ExceptionsResponse exceptionResponse = new ExceptionsResponse(
-                new Date(), ex.getMessage(), request.getDescription(false));
-        return new ResponseEntity<>(exceptionResponse, HttpStatus.BAD_REQUEST);
+    /**
+     * The same body {@code WebRequest.getDescription(false)} used to produce, built straight from
+     * the servlet request instead of through a {@code ServletWebRequest} wrapper. Expected 4xx
+     * answers are only logged at debug level.
+     */
+    private static ResponseEntity<ExceptionsResponse> response(HttpStatus status, Exception ex, HttpServletRequest request) {
+        if (status.is4xxClientError() && logger.isDebugEnabled()) {
+            logger.debug("{} for {}: {}", status.value(), request.getRequestURI(), ex.getMessage());
+        }
+        return new ResponseEntity<>(
+                new ExceptionsResponse(new Date(), ex.getMessage(), "uri=" + request.getRequestURI()), status);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package br.com.erudio.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Puts a correlation id in the {@code requestId} MDC field for every log line written while the
+ * request is served, and returns it in the {@code X-Request-Id} response header.
+ * <p>
+ * A well-formed incoming {@code X-Request-Id}, such as one set by a gateway, is kept. Otherwise
+ * a random 16-digit hex id is generated from {@link ThreadLocalRandom}, which avoids the shared
+ * {@code SecureRandom} behind {@code UUID.randomUUID()}.
+ */
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "requestId";
+
+    private static final int MAX_LENGTH = 64;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        var requestId = request.getHeader(HEADER);
+        if (!isValid(requestId)) requestId = generate();
+
+        MDC.put(MDC_KEY, requestId);
+        response.setHeader(HEADER, requestId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    private static String generate() {
+        var id = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        return id.length() == 16 ? id : "0".repeat(16 - id.length()) + id;
+    }
+
+    /**
+     * Letters, digits, {@code -}, {@code _} and {@code .}, so ids cannot forge log lines or headers.
+     */
+    static boolean isValid(String requestId) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > MAX_LENGTH) return false;
+        for (int i = 0; i < requestId.length(); i++) {
+            char c = requestId.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '-' || c == '_' || c == '.')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
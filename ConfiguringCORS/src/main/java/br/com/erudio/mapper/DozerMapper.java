@@ -1,25 +1,66 @@
 package br.com.erudio.mapper;
 
 
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.data.vo.v2.PersonVOV2;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
 import com.github.dozermapper.core.DozerBeanMapperBuilder;
 import com.github.dozermapper.core.Mapper;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
+/**
+ * Maps with the MapStruct {@link VOMapper} when it has a method for the pair of types, and with
+ * Dozer otherwise. Dozer is only built the first time it is needed, so the pairs below never
+ * start its reflective class mapping, which is also what keeps it out of the native image.
+ */
 public class DozerMapper {
 
-    private static Mapper mapper = DozerBeanMapperBuilder.buildDefault();
+    private static class Fallback {
+        private static final Mapper MAPPER = DozerBeanMapperBuilder.buildDefault();
+    }
 
-    public static <O, D> D parseObject(O origin, Class<D> destination) {
+    private static final Map<Class<?>, Map<Class<?>, Function<Object, Object>>> generatedMappers = new HashMap<>();
+
+    static {
+        var generated = VOMapper.INSTANCE;
+        register(Person.class, PersonVO.class, generated::toPersonVO);
+        register(PersonVO.class, Person.class, generated::toPerson);
+        register(Person.class, PersonVOV2.class, generated::toPersonVOV2);
+        register(PersonVOV2.class, Person.class, generated::toPerson);
+        register(Book.class, BookVO.class, generated::toBookVO);
+        register(BookVO.class, Book.class, generated::toBook);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <O, D> void register(Class<O> origin, Class<D> destination, Function<O, D> function) {
+        generatedMappers.computeIfAbsent(origin, k -> new HashMap<>())
+                .put(destination, (Function<Object, Object>) function);
+    }
+
+    private static Function<Object, Object> generatedMapper(Class<?> origin, Class<?> destination) {
+        var byDestination = generatedMappers.get(origin);
+        return byDestination == null ? null : byDestination.get(destination);
+    }
 
-        return mapper.map(origin, destination);
+    public static <O, D> D parseObject(O origin, Class<D> destination) {
+        if (origin != null) {
+            var generated = generatedMapper(origin.getClass(), destination);
+            if (generated != null) return destination.cast(generated.apply(origin));
+        }
+        return Fallback.MAPPER.map(origin, destination);
     }
 
     public static <O, D> List<D> parseListObjects(List<O> origin, Class<D> destination) {
-        List<D> destinationObjects = new ArrayList<D>();
+        List<D> destinationObjects = new ArrayList<D>(origin.size());
         for ( O o: origin) {
-            destinationObjects.add(mapper.map(o, destination));
+            destinationObjects.add(parseObject(o, destination));
         }
         return destinationObjects;
     }
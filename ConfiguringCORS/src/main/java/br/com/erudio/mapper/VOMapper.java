@@ -0,0 +1,49 @@
+package br.com.erudio.mapper;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.data.vo.v2.PersonVOV2;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Entity/VO conversions generated at compile time by the MapStruct annotation
+ * processor, so mapping is plain getter/setter calls instead of Dozer reflection.
+ * The {@code id -> key} renames mirror the {@code @Mapping("id")} fields on the VOs.
+ */
+@Mapper
+public interface VOMapper {
+
+    VOMapper INSTANCE = Mappers.getMapper(VOMapper.class);
+
+    @Mapping(source = "id", target = "key")
+    PersonVO toPersonVO(Person person);
+
+    @InheritInverseConfiguration
+    Person toPerson(PersonVO person);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updatePerson(PersonVO source, @MappingTarget Person target);
+
+    @Mapping(target = "birthDay", ignore = true)
+    PersonVOV2 toPersonVOV2(Person person);
+
+    @Mapping(target = "version", ignore = true)
+    Person toPerson(PersonVOV2 person);
+
+    @Mapping(source = "id", target = "key")
+    BookVO toBookVO(Book book);
+
+    @InheritInverseConfiguration
+    Book toBook(BookVO book);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateBook(BookVO source, @MappingTarget Book target);
+}
@@ -1,7 +1,85 @@
 package br.com.erudio.repositories;
 
+import br.com.erudio.config.CacheConfig;
 import br.com.erudio.model.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKS, unless = "#result == null")
+    Optional<Book> findById(Long id);
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.BOOKS, key = "#result.id")
+    <S extends Book> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#p0.id")
+    void delete(Book entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOKS)
+    void deleteById(Long id);
+
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Keyset page of books matching a boolean-mode full-text query over title and author.
+     */
+    @Query(value = "SELECT * FROM books " +
+            "WHERE MATCH(title, author) AGAINST (:terms IN BOOLEAN MODE) AND id > :after " +
+            "ORDER BY id LIMIT :size",
+            nativeQuery = true)
+    List<Book> searchByTitleOrAuthor(@Param("terms") String terms, @Param("after") Long after,
+                                     @Param("size") int size);
+
+    /**
+     * Forward-only, read-only stream over the whole table. A fetch size of {@code Integer.MIN_VALUE}
+     * makes MySQL Connector/J stream rows one by one instead of buffering the full result set;
+     * the connection stays busy until the stream is closed, so consume it inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT b FROM Book b ORDER BY b.id")
+    Stream<Book> streamAll();
+
+    // the modifying queries leave the books cache to the services, which evict it after their transaction commits
+    @Modifying
+    @Transactional
+    @Query("UPDATE Book b SET b.author = :#{#book.author}, " +
+            "b.launchDate = :#{#book.launchDate}, " +
+            "b.price = :#{#book.price}, b.title = :#{#book.title}, " +
+            "b.version = b.version + 1 " +
+            "WHERE b.id = :#{#book.id} AND (:version IS NULL OR b.version = :version)")
+    int updateBook(@Param("book") Book book, @Param("version") Long version);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Book b WHERE b.id = :id")
+    int deleteBookById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Book b WHERE b.id IN :ids")
+    int deleteBooksByIdIn(@Param("ids") Collection<Long> ids);
 }
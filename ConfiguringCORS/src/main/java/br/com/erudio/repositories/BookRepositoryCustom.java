@@ -0,0 +1,14 @@
+package br.com.erudio.repositories;
+
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BookRepositoryCustom {
+
+    /**
+     * Keyset page selecting only the given attributes plus id and version.
+     */
+    List<Tuple> findPageWithFields(Long after, int size, Collection<String> attributes);
+}
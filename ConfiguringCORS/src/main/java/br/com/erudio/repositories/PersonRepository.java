@@ -1,6 +1,90 @@
 package br.com.erudio.repositories;
 
+import br.com.erudio.config.CacheConfig;
 import br.com.erudio.model.Person;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface PersonRepository extends JpaRepository<Person, Long> { }
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface PersonRepository extends JpaRepository<Person, Long>, PersonRepositoryCustom {
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PEOPLE, unless = "#result == null")
+    Optional<Person> findById(Long id);
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.PEOPLE, key = "#result.id")
+    <S extends Person> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PEOPLE, key = "#p0.id")
+    void delete(Person entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.PEOPLE)
+    void deleteById(Long id);
+
+    List<Person> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Keyset page of people whose first or last name starts with {@code prefix}, which must already
+     * end in {@code %}. Each branch of the union is answered from its name index alone (the index
+     * carries the id); only the final page of rows is read from the table. A prefix is a range over
+     * several names, so each branch still sorts all of its matching index entries by id.
+     */
+    @Query(value = "SELECT p.* FROM person p JOIN (" +
+            "(SELECT id FROM person WHERE first_name LIKE :prefix AND id > :after ORDER BY id LIMIT :size) " +
+            "UNION " +
+            "(SELECT id FROM person WHERE last_name LIKE :prefix AND id > :after ORDER BY id LIMIT :size) " +
+            "ORDER BY id LIMIT :size) m ON m.id = p.id ORDER BY p.id",
+            nativeQuery = true)
+    List<Person> searchByNamePrefix(@Param("prefix") String prefix, @Param("after") Long after,
+                                    @Param("size") int size);
+
+    /**
+     * Forward-only, read-only stream over the whole table. A fetch size of {@code Integer.MIN_VALUE}
+     * makes MySQL Connector/J stream rows one by one instead of buffering the full result set;
+     * the connection stays busy until the stream is closed, so consume it inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Person p ORDER BY p.id")
+    Stream<Person> streamAll();
+
+    // the modifying queries leave the people cache to the services, which evict it after their transaction commits
+    @Modifying
+    @Transactional
+    @Query("UPDATE Person p SET p.firstName = :#{#person.firstName}, " +
+            "p.lastName = :#{#person.lastName}, " +
+            "p.address = :#{#person.address}, p.gender = :#{#person.gender}, " +
+            "p.version = p.version + 1 " +
+            "WHERE p.id = :#{#person.id} AND (:version IS NULL OR p.version = :version)")
+    int updatePerson(@Param("person") Person person, @Param("version") Long version);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Person p WHERE p.id = :id")
+    int deletePersonById(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Person p WHERE p.id IN :ids")
+    int deletePeopleByIdIn(@Param("ids") Collection<Long> ids);
+}
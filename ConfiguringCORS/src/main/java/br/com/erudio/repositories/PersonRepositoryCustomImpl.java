@@ -0,0 +1,20 @@
+package br.com.erudio.repositories;
+
+import br.com.erudio.model.Person;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+import java.util.Collection;
+import java.util.List;
+
+public class PersonRepositoryCustomImpl implements PersonRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findPageWithFields(Long after, int size, Collection<String> attributes) {
+        return SparseFieldsQueries.page(entityManager, Person.class, after, size, attributes);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.erudio.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Criteria queries that select only the requested attributes, so unused columns are
+ * neither read from the table nor hydrated into entities.
+ */
+final class SparseFieldsQueries {
+
+    static final String ID = "id";
+    static final String VERSION = "version";
+
+    private SparseFieldsQueries() {}
+
+    /**
+     * Keyset page ordered by id. Each tuple element is aliased with its attribute name; the id and
+     * version are always selected, the version for the page ETag.
+     */
+    static List<Tuple> page(EntityManager entityManager, Class<?> entityType,
+                            Long after, int size, Collection<String> attributes) {
+
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createTupleQuery();
+        var root = query.from(entityType);
+
+        var selections = new ArrayList<Selection<?>>();
+        selections.add(root.get(ID).alias(ID));
+        selections.add(root.get(VERSION).alias(VERSION));
+        for (var attribute : attributes) {
+            if (!ID.equals(attribute) && !VERSION.equals(attribute)) selections.add(root.get(attribute).alias(attribute));
+        }
+
+        query.multiselect(selections)
+                .where(builder.greaterThan(root.get(ID), after))
+                .orderBy(builder.asc(root.get(ID)));
+
+        return entityManager.createQuery(query).setMaxResults(size).getResultList();
+    }
+}
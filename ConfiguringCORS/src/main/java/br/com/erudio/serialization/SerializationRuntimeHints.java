@@ -0,0 +1,48 @@
+package br.com.erudio.serialization;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.data.vo.v2.PersonVOV2;
+import br.com.erudio.exceptions.ExceptionsResponse;
+import br.com.erudio.serialization.converter.ProtobufJackson2HttpMessageConverter;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Reflection hints for the native image that Spring AOT cannot infer from controller signatures.
+ * <p>
+ * AOT registers the request and response bodies of {@code @RestController} methods, but the
+ * YAML and Protobuf converters are warmed up, and the exports written, outside of those methods,
+ * and the sparse-fieldset subtypes of the VOs never appear in a signature. The mix-ins are only read for their annotations, and the StAX factories behind the XML
+ * converter are created by name.
+ */
+public class SerializationRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] MIX_INS = {
+            "br.com.erudio.serialization.converter.ProtobufJackson2HttpMessageConverter$WithoutLinks",
+            "br.com.erudio.serialization.export.RowWriters$WithoutLinks"
+    };
+
+    private static final String[] STAX_FACTORIES = {
+            "com.ctc.wstx.stax.WstxInputFactory",
+            "com.ctc.wstx.stax.WstxOutputFactory"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                PersonVO.class, PersonVO.Sparse.class, PersonVOV2.class, BookVO.class, BookVO.Sparse.class,
+                ExceptionsResponse.class, ProtobufJackson2HttpMessageConverter.ListMessage.class);
+
+        for (var mixIn : MIX_INS) {
+            hints.reflection().registerType(TypeReference.of(mixIn),
+                    MemberCategory.INTROSPECT_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+        }
+        for (var factory : STAX_FACTORIES) {
+            hints.reflection().registerTypeIfPresent(classLoader, factory, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.erudio.serialization.converter;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Protobuf converter whose schemas are generated from the body types by Jackson, so the VOs
+ * need no {@code .proto} files or generated classes.
+ * <p>
+ * Protobuf messages cannot be top-level lists, so a collection body is sent as a {@link ListMessage}
+ * with a single {@code repeated content} field. Hypermedia links are left out, because
+ * {@code RepresentationModel}'s links do not map to a protobuf field. Types without a valid schema,
+ * such as plain strings, are left to the other converters.
+ */
+public class ProtobufJackson2HttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final ProtobufMapper mapper;
+    private final Map<JavaType, Optional<MessageCodec>> codecs = new ConcurrentHashMap<>();
+
+    public ProtobufJackson2HttpMessageConverter() {
+        super(MediaType.parseMediaType("application/x-protobuf"));
+        this.mapper = new ProtobufMapper(ProtobufFactory.builder()
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .build());
+        this.mapper.addMixIn(RepresentationModel.class, WithoutLinks.class);
+    }
+
+    /**
+     * The {@code .proto} source generated for the given body type, for sharing with clients.
+     */
+    public Optional<String> schemaSource(Type type) {
+        return codec(messageType(mapper.constructType(type))).map(codec -> codec.schema().getSource().toString());
+    }
+
+    private JavaType messageType(JavaType type) {
+        if (type.isCollectionLikeType()) {
+            return mapper.getTypeFactory().constructParametricType(ListMessage.class, type.getContentType());
+        }
+        return type;
+    }
+
+    private Optional<MessageCodec> codec(JavaType messageType) {
+        return codecs.computeIfAbsent(messageType, type -> {
+            try {
+                var schema = mapper.generateSchemaFor(type);
+                return Optional.of(new MessageCodec(schema, mapper.readerFor(type).with(schema), mapper.writer(schema)));
+            } catch (JsonProcessingException | UnsupportedOperationException | IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private boolean hasSchema(Type type, Class<?> contextClass) {
+        if (type == null) return false;
+        var javaType = mapper.constructType(GenericTypeResolver.resolveType(type, contextClass));
+        return codec(messageType(javaType)).isPresent();
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return hasSchema(clazz, null);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return canRead(mediaType) && hasSchema(type, contextClass);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && hasSchema(type != null ? type : clazz, null);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readType(mapper.constructType(GenericTypeResolver.resolveType(type, contextClass)), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return readType(mapper.constructType(clazz), inputMessage);
+    }
+
+    private Object readType(JavaType type, HttpInputMessage inputMessage) throws IOException {
+        var codec = codec(messageType(type))
+                .orElseThrow(() -> new HttpMessageNotReadableException("No protobuf schema for " + type, inputMessage));
+        try {
+            Object message = codec.reader().readValue(inputMessage.getBody());
+            if (message instanceof ListMessage<?> list) {
+                return list.content == null ? new ArrayList<>() : list.content;
+            }
+            return message;
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Protobuf parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        var codec = codec(messageType(mapper.constructType(type != null ? type : object.getClass())))
+                .orElseThrow(() -> new HttpMessageNotWritableException("No protobuf schema for " + type));
+        var message = object instanceof Collection<?> collection ? new ListMessage<>(asList(collection)) : object;
+        try {
+            codec.writer().writeValue(outputMessage.getBody(), message);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write protobuf: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static List<?> asList(Collection<?> collection) {
+        return collection instanceof List<?> list ? list : new ArrayList<>(collection);
+    }
+
+    private record MessageCodec(ProtobufSchema schema, ObjectReader reader, ObjectWriter writer) {
+    }
+
+    /**
+     * Wrapper message for collection bodies.
+     */
+    public static class ListMessage<T> {
+
+        public List<T> content;
+
+        public ListMessage() {
+        }
+
+        public ListMessage(List<T> content) {
+            this.content = content;
+        }
+    }
+
+    @JsonIgnoreProperties("links")
+    private abstract static class WithoutLinks {
+    }
+}
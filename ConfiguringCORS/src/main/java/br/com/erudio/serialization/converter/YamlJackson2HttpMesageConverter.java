@@ -1,13 +1,114 @@
 package br.com.erudio.serialization.converter;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
-import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * YAML converter that keeps one {@link ObjectWriter}/{@link ObjectReader} per body type.
+ * <p>
+ * Writers and readers created for a declared type resolve their root serializer or deserializer
+ * up front, so caching them skips that lookup on every request; {@link #warmUp(Type...)} builds
+ * them, and loads the YAML emitter, before the first request. Bodies are written straight to the
+ * response stream, so large lists are never buffered as a whole document.
+ * <p>
+ * With {@code minimizeQuotes}, strings are only quoted when YAML requires it, which makes the
+ * output smaller and cheaper to emit.
+ */
+public class YamlJackson2HttpMesageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final MediaType APPLICATION_YAML = MediaType.parseMediaType("application/x-yaml");
+
+    private final YAMLMapper mapper;
+    private final Map<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
 
-public class YamlJackson2HttpMesageConverter extends AbstractJackson2HttpMessageConverter {
     public YamlJackson2HttpMesageConverter() {
-        super(new YAMLMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL),
-                MediaType.parseMediaType("application/x-yaml"));
+        this(false);
+    }
+
+    public YamlJackson2HttpMesageConverter(boolean minimizeQuotes) {
+        super(APPLICATION_YAML);
+        var factory = YAMLFactory.builder()
+                .configure(YAMLGenerator.Feature.MINIMIZE_QUOTES, minimizeQuotes)
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .build();
+        this.mapper = new YAMLMapper(factory);
+        this.mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    public YamlJackson2HttpMesageConverter warmUp(Type... types) {
+        for (var type : types) {
+            var javaType = mapper.constructType(type);
+            reader(javaType);
+            try {
+                writer(javaType).writeValue(OutputStream.nullOutputStream(), null);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not warm up YAML writer for " + type, e);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    private ObjectWriter writer(JavaType type) {
+        return writers.computeIfAbsent(type, mapper::writerFor);
+    }
+
+    private ObjectReader reader(JavaType type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readType(mapper.constructType(GenericTypeResolver.resolveType(type, contextClass)), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return readType(mapper.constructType(clazz), inputMessage);
+    }
+
+    private Object readType(JavaType type, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return reader(type).readValue(inputMessage.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("YAML parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        // Only a parameterized declared type (e.g. List<PersonVO>) says more than the runtime class
+        var javaType = mapper.constructType(type instanceof ParameterizedType ? type : object.getClass());
+        try {
+            writer(javaType).writeValue(outputMessage.getBody(), object);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write YAML: " + e.getOriginalMessage(), e);
+        }
     }
 }
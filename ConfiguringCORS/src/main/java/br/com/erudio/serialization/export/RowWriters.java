@@ -0,0 +1,98 @@
+package br.com.erudio.serialization.export;
+
+import br.com.erudio.util.MediaType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Row-at-a-time writers for the table exports, as NDJSON (one JSON object per line, each ending
+ * with a newline) or CSV with a header.
+ * <p>
+ * Values are not flushed individually, so the servlet response buffer decides the chunk size,
+ * and the target stream is left open for the container to complete the response.
+ * Exported rows carry no hypermedia links.
+ */
+public class RowWriters {
+
+    private static final String LINKS = "links";
+
+    private static final ObjectMapper JSON = configure(new ObjectMapper());
+    private static final CsvMapper CSV = configure(new CsvMapper());
+
+    private static <M extends ObjectMapper> M configure(M mapper) {
+        mapper.addMixIn(RepresentationModel.class, WithoutLinks.class)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return mapper;
+    }
+
+    public interface RowWriter extends Closeable {
+
+        void write(Object row) throws IOException;
+    }
+
+    public static RowWriter open(OutputStream out, Class<?> rowType, String mediaType) throws IOException {
+        if (MediaType.TEXT_CSV.equals(mediaType)) {
+            return sequence(CSV.writer(csvSchemaFor(rowType).withHeader()).writeValues(out));
+        }
+        return ndjson(out, rowType);
+    }
+
+    private static RowWriter sequence(SequenceWriter rows) {
+        return new RowWriter() {
+            @Override
+            public void write(Object row) throws IOException {
+                rows.write(row);
+            }
+
+            @Override
+            public void close() throws IOException {
+                rows.close();
+            }
+        };
+    }
+
+    // a root value separator only goes between rows, so the newline is written after each one instead
+    private static RowWriter ndjson(OutputStream out, Class<?> rowType) throws IOException {
+        var writer = JSON.writerFor(rowType);
+        var generator = JSON.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+        return new RowWriter() {
+            @Override
+            public void write(Object row) throws IOException {
+                writer.writeValue(generator, row);
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            public void close() throws IOException {
+                generator.close();
+            }
+        };
+    }
+
+    // CSV schema generation does not honour the mix-in, so the links column is dropped by hand
+    private static CsvSchema csvSchemaFor(Class<?> rowType) {
+        var schema = CSV.schemaFor(rowType);
+        var builder = schema.rebuild().clearColumns();
+        for (var column : schema) {
+            if (!LINKS.equals(column.getName())) builder.addColumn(column.getName(), column.getType());
+        }
+        return builder.build();
+    }
+
+    @JsonIgnoreProperties(LINKS)
+    private abstract static class WithoutLinks {
+    }
+}
@@ -1,84 +1,160 @@
 package br.com.erudio.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.logging.Logger;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.erudio.cache.PageCaches;
+import br.com.erudio.config.CacheConfig;
 import br.com.erudio.controllers.BookController;
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.datasource.RecentWrites;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.RequiredObjectIsNull;
 import br.com.erudio.exceptions.ResourceNotFoundException;
 import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.mapper.VOMapper;
 import br.com.erudio.model.Book;
 import br.com.erudio.repositories.BookRepository;
+import br.com.erudio.serialization.export.RowWriters;
+import br.com.erudio.util.ETags;
+import br.com.erudio.util.Fieldsets;
+import br.com.erudio.util.PhaseTimer;
+import br.com.erudio.util.SelfLinkTemplate;
 
 @Service
 public class BookServices {
 
-    private Logger logger = Logger.getLogger(BookServices.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(BookServices.class);
+
+    private final PhaseTimer phases = PhaseTimer.of("book");
 
     @Autowired
     BookRepository repository;
 
-    public List<BookVO> findAll() {
+    @Autowired
+    PageCaches pageCaches;
+
+    @Autowired
+    RecentWrites recentWrites;
 
-        logger.info("Finding all book!");
+    @PersistenceContext
+    EntityManager entityManager;
 
-        var books = DozerMapper.parseListObjects(repository.findAll(), BookVO.class);
-        books
-                .stream()
-                .forEach(p -> {
-                    try {
-                        p.add(linkTo(methodOn(BookController.class).findById(p.getKey())).withSelfRel());
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                });
-        return books;
+    @Transactional(readOnly = true)
+    public List<BookVO> findAll(Long after, Integer size) {
+        return findAll(after, size, Set.of(), eTag -> false);
     }
 
+    /**
+     * Returns {@code null}, before any mapping or linking, when {@code notModified} accepts the page's weak ETag.
+     * A non-empty {@code fields} set reads and fills only those fields.
+     */
+    @Transactional(readOnly = true)
+    public List<BookVO> findAll(Long after, Integer size, Set<String> fields, Predicate<String> notModified) {
+
+        logger.info("Finding a page of books!");
+        recentWrites.readFromPrimaryIfWritten(Book.class);
+        if (!fields.isEmpty()) return findAllWithFields(after, size, fields, notModified);
+
+        var entities = phases.repository(() -> repository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(size)));
+        if (notModified.test(ETags.weak(entities, Book::getId, Book::getVersion))) return null;
+        return withSelfLinks(entities);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookVO> search(String query, Long after, Integer size) {
+        var terms = fullTextTerms(query);
+        if (terms.isEmpty()) throw new RequiredObjectIsNull("A title or author to search for is required!");
+
+        logger.info("Searching books by title or author!");
+        recentWrites.readFromPrimaryIfWritten(Book.class);
+
+        var entities = phases.repository(() -> repository.searchByTitleOrAuthor(terms, after, size));
+        return withSelfLinks(entities);
+    }
+
+    @Transactional(readOnly = true)
     public BookVO findById(Long id) throws Exception {
+        return findById(id, eTag -> false);
+    }
+
+    /**
+     * Returns {@code null}, before any mapping or linking, when {@code notModified} accepts the entity's ETag.
+     */
+    @Transactional(readOnly = true)
+    public BookVO findById(Long id, Predicate<String> notModified) throws Exception {
 
         logger.info("Finding one book!");
+        recentWrites.readFromPrimaryIfWritten(Book.class, id);
 
-        var entity = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-        var vo = DozerMapper.parseObject(entity, BookVO.class);
-        vo.add(linkTo(methodOn(BookController.class).findById(id)).withSelfRel());
+        var entity = phases.repository(() -> repository.findById(id))
+                .orElseThrow(() -> ResourceNotFoundException.NO_RECORDS);
+        if (notModified.test(ETags.strong(entity.getVersion()))) return null;
+
+        var vo = phases.mapping(() -> DozerMapper.parseObject(entity, BookVO.class));
+        vo.add(phases.linking(() -> linkTo(methodOn(BookController.class).findById(id, null)).withSelfRel()));
         return vo;
     }
 
     public BookVO create(BookVO book) throws Exception {
 
-        if (book == null) throw new RequiredObjectIsNull();
+        if (book == null) throw RequiredObjectIsNull.NULL_OBJECT;
 
         logger.info("Creating one book!");
-        var entity = DozerMapper.parseObject(book, Book.class);
-        var vo =  DozerMapper.parseObject(repository.save(entity), BookVO.class);
-        vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey())).withSelfRel());
+        var entity = phases.mapping(() -> DozerMapper.parseObject(book, Book.class));
+        entity.setId(null);
+        var persisted = phases.repository(() -> repository.save(entity));
+        pageCaches.evictAfterCommit(CacheConfig.BOOKS_PAGES);
+        recentWrites.recordAfterCommit(Book.class, List.of(persisted.getId()));
+        var vo = phases.mapping(() -> DozerMapper.parseObject(persisted, BookVO.class));
+        vo.add(phases.linking(() -> linkTo(methodOn(BookController.class).findById(vo.getKey(), null)).withSelfRel()));
         return vo;
     }
 
-    public BookVO update(BookVO book) throws Exception {
+    /**
+     * Updates only if the stored version still equals {@code expectedVersion}, when one is given.
+     * The returned version is {@code expectedVersion + 1}, or {@code null} when none was given.
+     */
+    @Transactional
+    public BookVO update(BookVO book, Long expectedVersion) throws Exception {
 
-        if (book == null) throw new RequiredObjectIsNull();
+        if (book == null) throw RequiredObjectIsNull.NULL_OBJECT;
 
         logger.info("Updating one book!");
 
-        var entity = repository.findById(book.getKey())
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-
-        entity.setAuthor(book.getAuthor());
-        entity.setLaunchDate(book.getLaunchDate());
-        entity.setPrice(book.getPrice());
-        entity.setTitle(book.getTitle());
+        var entity = phases.mapping(() -> DozerMapper.parseObject(book, Book.class));
+        if (phases.repository(() -> repository.updateBook(entity, expectedVersion)) == 0) {
+            if (expectedVersion != null && repository.existsById(entity.getId()))
+                throw PreconditionFailedException.CHANGED;
+            throw ResourceNotFoundException.NO_RECORDS;
+        }
+        pageCaches.evictAfterCommit(CacheConfig.BOOKS, List.of(entity.getId()));
+        pageCaches.evictAfterCommit(CacheConfig.BOOKS_PAGES);
+        recentWrites.recordAfterCommit(Book.class, List.of(entity.getId()));
+        // the update matched exactly this version and incremented it; without If-Match it is not known
+        entity.setVersion(expectedVersion == null ? null : expectedVersion + 1);
 
-        var vo =  DozerMapper.parseObject(repository.save(entity), BookVO.class);
-        vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey())).withSelfRel());
+        var vo = phases.mapping(() -> DozerMapper.parseObject(entity, BookVO.class));
+        vo.add(phases.linking(() -> linkTo(methodOn(BookController.class).findById(vo.getKey(), null)).withSelfRel()));
         return vo;
     }
 
@@ -86,8 +162,115 @@ public class BookServices {
 
         logger.info("Deleting one book!");
 
-        var entity = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-        repository.delete(entity);
+        if (phases.repository(() -> repository.deleteBookById(id)) == 0)
+            throw ResourceNotFoundException.NO_RECORDS;
+        pageCaches.evictAfterCommit(CacheConfig.BOOKS, List.of(id));
+        pageCaches.evictAfterCommit(CacheConfig.BOOKS_PAGES);
+        recentWrites.recordAfterCommit(Book.class, List.of(id));
+    }
+
+    @Transactional
+    public List<BookVO> createAll(List<BookVO> books) {
+        if (books == null) throw RequiredObjectIsNull.NULL_OBJECT;
+
+        logger.info("Creating a batch of books!");
+
+        var entities = DozerMapper.parseListObjects(books, Book.class);
+        entities.forEach(entity -> entity.setId(null));
+        var persisted = phases.repository(() -> repository.saveAll(entities));
+        pageCaches.evictAfterCommit(CacheConfig.BOOKS_PAGES);
+        recentWrites.recordAfterCommit(Book.class, persisted.stream().map(Book::getId).toList());
+        return withSelfLinks(persisted);
+    }
+
+    @Transactional
+    public List<BookVO> updateAll(List<BookVO> books) {
+        if (books == null) throw RequiredObjectIsNull.NULL_OBJECT;
+
+        logger.info("Updating a batch of books!");
+
+        var ids = books.stream().map(BookVO::getKey).toList();
+        var entities = phases.repository(() -> repository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        var updated = new ArrayList<Book>(books.size());
+        for (var book : books) {
+            var entity = entities.get(book.getKey());
+            if (entity == null) throw ResourceNotFoundException.NO_RECORDS;
+            VOMapper.INSTANCE.updateBook(book, entity);
+            updated.add(entity);
+        }
+        pageCaches.evictAfterCommit(CacheConfig.BOOKS, ids);
+        pageCaches.evictAfterCommit(CacheConfig.BOOKS_PAGES);
+        recentWrites.recordAfterCommit(Book.class, ids);
+        return withSelfLinks(updated);
+    }
+
+    @Transactional
+    public void deleteAll(List<Long> ids) {
+        if (ids == null) throw RequiredObjectIsNull.NULL_OBJECT;
+
+        logger.info("Deleting a batch of books!");
+
+        var distinctIds = new HashSet<>(ids);
+        if (phases.repository(() -> repository.deleteBooksByIdIn(distinctIds)) != distinctIds.size())
+            throw ResourceNotFoundException.NO_RECORDS;
+        pageCaches.evictAfterCommit(CacheConfig.BOOKS, distinctIds);
+        pageCaches.evictAfterCommit(CacheConfig.BOOKS_PAGES);
+        recentWrites.recordAfterCommit(Book.class, distinctIds);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(OutputStream out, String mediaType) throws IOException {
+        logger.info("Exporting all books!");
+        recentWrites.readFromPrimaryIfWritten(Book.class);
+
+        try (var entities = repository.streamAll();
+             var writer = RowWriters.open(out, BookVO.class, mediaType)) {
+            for (var iterator = entities.iterator(); iterator.hasNext(); ) {
+                var entity = iterator.next();
+                writer.write(DozerMapper.parseObject(entity, BookVO.class));
+                entityManager.detach(entity);
+            }
+        }
+    }
+
+    /**
+     * Boolean-mode query in which every word is required and may be a prefix. Characters that are
+     * full-text operators are dropped from the words.
+     */
+    private static String fullTextTerms(String query) {
+        if (query == null) return "";
+        return Arrays.stream(query.split("\\s+"))
+                .map(word -> word.replaceAll("[+\\-<>()~*\"@]", ""))
+                .filter(word -> !word.isEmpty())
+                .map(word -> "+" + word + "*")
+                .collect(Collectors.joining(" "));
+    }
+
+    private List<BookVO> findAllWithFields(Long after, Integer size, Set<String> fields,
+                                          Predicate<String> notModified) {
+
+        var tuples = phases.repository(() -> repository.findPageWithFields(after, size, fields));
+        var eTag = ETags.weak(tuples, tuple -> tuple.get("id", Long.class), tuple -> tuple.get("version", Long.class));
+        if (notModified.test(eTag)) return null;
+
+        var vos = phases.mapping(() -> tuples.stream()
+                .<BookVO>map(tuple -> Fieldsets.toVO(tuple, fields, BookVO.Sparse.class))
+                .toList());
+        return addSelfLinks(vos);
+    }
+
+    private List<BookVO> withSelfLinks(List<Book> entities) {
+        var vos = phases.mapping(() -> DozerMapper.parseListObjects(entities, BookVO.class));
+        return addSelfLinks(vos);
+    }
+
+    private List<BookVO> addSelfLinks(List<BookVO> vos) {
+        return phases.linking(() -> {
+            var selfLink = SelfLinkTemplate.of(key -> methodOn(BookController.class).findById(key, null));
+            vos.forEach(vo -> vo.add(selfLink.withSelfRel(vo.getKey())));
+            return vos;
+        });
     }
-}
\ No newline at end of file
+}
@@ -1,68 +1,135 @@
 package br.com.erudio.services;
 
+import br.com.erudio.cache.PageCaches;
+import br.com.erudio.config.CacheConfig;
 import br.com.erudio.controllers.PersonController;
 import br.com.erudio.data.vo.v1.PersonVO;
 import br.com.erudio.data.vo.v2.PersonVOV2;
+import br.com.erudio.datasource.RecentWrites;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.RequiredObjectIsNull;
 import br.com.erudio.exceptions.ResourceNotFoundException;
 import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.mapper.VOMapper;
 import br.com.erudio.mapper.custom.PersonMapper;
 import br.com.erudio.model.Person;
 import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.serialization.export.RowWriters;
+import br.com.erudio.util.ETags;
+import br.com.erudio.util.Fieldsets;
+import br.com.erudio.util.PhaseTimer;
+import br.com.erudio.util.SelfLinkTemplate;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.logging.Logger;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 public class PersonServices {
 
-    private Logger logger = Logger.getLogger(PersonServices.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(PersonServices.class);
+
+    private final PhaseTimer phases = PhaseTimer.of("person");
 
     @Autowired
     PersonRepository repository;
 
+    @Autowired
+    PageCaches pageCaches;
+
+    @Autowired
+    RecentWrites recentWrites;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
 //    @Autowired
 //    PersonMapper mapper;
 
-    public List<PersonVO> findAll() {
-        logger.info("Finding all people!");
-        var persons = DozerMapper.parseListObjects(repository.findAll(), PersonVO.class);
-        persons.stream().forEach(p -> {
-            try {
-                p.add(linkTo(methodOn(PersonController.class).findById(p.getKey())).withSelfRel());
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
-        return persons;
+    @Transactional(readOnly = true)
+    public List<PersonVO> findAll(Long after, Integer size) {
+        return findAll(after, size, Set.of(), eTag -> false);
+    }
+
+    /**
+     * Returns {@code null}, before any mapping or linking, when {@code notModified} accepts the page's weak ETag.
+     * A non-empty {@code fields} set reads and fills only those fields.
+     */
+    @Transactional(readOnly = true)
+    public List<PersonVO> findAll(Long after, Integer size, Set<String> fields, Predicate<String> notModified) {
+        logger.info("Finding a page of people!");
+        recentWrites.readFromPrimaryIfWritten(Person.class);
+        if (!fields.isEmpty()) return findAllWithFields(after, size, fields, notModified);
+        var entities = phases.repository(() -> repository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(size)));
+        if (notModified.test(ETags.weak(entities, Person::getId, Person::getVersion))) return null;
+        return withSelfLinks(entities);
     }
 
+    @Transactional(readOnly = true)
+    public List<PersonVO> search(String name, Long after, Integer size) {
+        if (name == null || name.isBlank()) throw new RequiredObjectIsNull("A name to search for is required!");
+
+        logger.info("Searching people by name!");
+        recentWrites.readFromPrimaryIfWritten(Person.class);
+
+        var prefix = escapeLike(name.strip()) + "%";
+        var entities = phases.repository(() -> repository.searchByNamePrefix(prefix, after, size));
+        return withSelfLinks(entities);
+    }
+
+    @Transactional(readOnly = true)
     public PersonVO findById(Long id) throws Exception {
+        return findById(id, eTag -> false);
+    }
+
+    /**
+     * Returns {@code null}, before any mapping or linking, when {@code notModified} accepts the entity's ETag.
+     */
+    @Transactional(readOnly = true)
+    public PersonVO findById(Long id, Predicate<String> notModified) throws Exception {
 
         logger.info("Finding one person!");
+        recentWrites.readFromPrimaryIfWritten(Person.class, id);
+
+        var entity = phases.repository(() -> repository.findById(id))
+                .orElseThrow(() -> ResourceNotFoundException.NO_RECORDS);
+        if (notModified.test(ETags.strong(entity.getVersion()))) return null;
 
-        var entity = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-        var vo = DozerMapper.parseObject(entity, PersonVO.class);
-        vo.add(linkTo(methodOn(PersonController.class).findById(id)).withSelfRel());
+        var vo = phases.mapping(() -> DozerMapper.parseObject(entity, PersonVO.class));
+        vo.add(phases.linking(() -> linkTo(methodOn(PersonController.class).findById(id, null)).withSelfRel()));
         return vo;
     }
 
     public PersonVO create(PersonVO person) throws Exception {
-        if(person == null) throw new RequiredObjectIsNull();
+        if(person == null) throw RequiredObjectIsNull.NULL_OBJECT;
 
         logger.info("Creating one person!");
 
-        var entity = DozerMapper.parseObject(person, Person.class);
-        var vo = DozerMapper.parseObject(repository.save(entity), PersonVO.class);
+        var entity = phases.mapping(() -> DozerMapper.parseObject(person, Person.class));
+        entity.setId(null);
+        var persisted = phases.repository(() -> repository.save(entity));
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+        recentWrites.recordAfterCommit(Person.class, List.of(persisted.getId()));
+        var vo = phases.mapping(() -> DozerMapper.parseObject(persisted, PersonVO.class));
 
-        vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey())).withSelfRel());
+        vo.add(phases.linking(() -> linkTo(methodOn(PersonController.class).findById(vo.getKey(), null)).withSelfRel()));
         return vo;
     }
 
@@ -75,22 +142,31 @@ public class PersonServices {
 //        return vo;
 //    }
 
-    public PersonVO update(PersonVO person) throws Exception {
-        if(person == null) throw new RequiredObjectIsNull();
+    /**
+     * Updates only if the stored version still equals {@code expectedVersion}, when one is given.
+     * The returned version is {@code expectedVersion + 1}, or {@code null} when none was given.
+     */
+    @Transactional
+    public PersonVO update(PersonVO person, Long expectedVersion) throws Exception {
+        if(person == null) throw RequiredObjectIsNull.NULL_OBJECT;
 
         logger.info("Updating one person!");
 
-        Person entity = repository.findById(person.getKey())
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-
-        entity.setFirstName(person.getFirstName());
-        entity.setLastName(person.getLastName());
-        entity.setAddress(person.getAddress());
-        entity.setGender(person.getGender());
+        var entity = phases.mapping(() -> DozerMapper.parseObject(person, Person.class));
+        if (phases.repository(() -> repository.updatePerson(entity, expectedVersion)) == 0) {
+            if (expectedVersion != null && repository.existsById(entity.getId()))
+                throw PreconditionFailedException.CHANGED;
+            throw ResourceNotFoundException.NO_RECORDS;
+        }
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE, List.of(entity.getId()));
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+        recentWrites.recordAfterCommit(Person.class, List.of(entity.getId()));
+        // the update matched exactly this version and incremented it; without If-Match it is not known
+        entity.setVersion(expectedVersion == null ? null : expectedVersion + 1);
 
-        var vo = DozerMapper.parseObject(repository.save(entity), PersonVO.class);
+        var vo = phases.mapping(() -> DozerMapper.parseObject(entity, PersonVO.class));
 
-        vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey())).withSelfRel());
+        vo.add(phases.linking(() -> linkTo(methodOn(PersonController.class).findById(vo.getKey(), null)).withSelfRel()));
         return vo;
     }
 
@@ -98,9 +174,106 @@ public class PersonServices {
 
         logger.info("Deleting one person!");
 
-        Person entity = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
+        if (phases.repository(() -> repository.deletePersonById(id)) == 0)
+            throw ResourceNotFoundException.NO_RECORDS;
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE, List.of(id));
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+        recentWrites.recordAfterCommit(Person.class, List.of(id));
+    }
+
+    @Transactional
+    public List<PersonVO> createAll(List<PersonVO> people) {
+        if (people == null) throw RequiredObjectIsNull.NULL_OBJECT;
+
+        logger.info("Creating a batch of people!");
+
+        var entities = DozerMapper.parseListObjects(people, Person.class);
+        entities.forEach(entity -> entity.setId(null));
+        var persisted = phases.repository(() -> repository.saveAll(entities));
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+        recentWrites.recordAfterCommit(Person.class, persisted.stream().map(Person::getId).toList());
+        return withSelfLinks(persisted);
+    }
 
-        repository.delete(entity);
+    @Transactional
+    public List<PersonVO> updateAll(List<PersonVO> people) {
+        if (people == null) throw RequiredObjectIsNull.NULL_OBJECT;
+
+        logger.info("Updating a batch of people!");
+
+        var ids = people.stream().map(PersonVO::getKey).toList();
+        var entities = phases.repository(() -> repository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(Person::getId, Function.identity()));
+
+        var updated = new ArrayList<Person>(people.size());
+        for (var person : people) {
+            var entity = entities.get(person.getKey());
+            if (entity == null) throw ResourceNotFoundException.NO_RECORDS;
+            VOMapper.INSTANCE.updatePerson(person, entity);
+            updated.add(entity);
+        }
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE, ids);
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+        recentWrites.recordAfterCommit(Person.class, ids);
+        return withSelfLinks(updated);
+    }
+
+    @Transactional
+    public void deleteAll(List<Long> ids) {
+        if (ids == null) throw RequiredObjectIsNull.NULL_OBJECT;
+
+        logger.info("Deleting a batch of people!");
+
+        var distinctIds = new HashSet<>(ids);
+        if (phases.repository(() -> repository.deletePeopleByIdIn(distinctIds)) != distinctIds.size())
+            throw ResourceNotFoundException.NO_RECORDS;
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE, distinctIds);
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+        recentWrites.recordAfterCommit(Person.class, distinctIds);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(OutputStream out, String mediaType) throws IOException {
+        logger.info("Exporting all people!");
+        recentWrites.readFromPrimaryIfWritten(Person.class);
+
+        try (var entities = repository.streamAll();
+             var writer = RowWriters.open(out, PersonVO.class, mediaType)) {
+            for (var iterator = entities.iterator(); iterator.hasNext(); ) {
+                var entity = iterator.next();
+                writer.write(DozerMapper.parseObject(entity, PersonVO.class));
+                entityManager.detach(entity);
+            }
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private List<PersonVO> findAllWithFields(Long after, Integer size, Set<String> fields,
+                                          Predicate<String> notModified) {
+
+        var tuples = phases.repository(() -> repository.findPageWithFields(after, size, fields));
+        var eTag = ETags.weak(tuples, tuple -> tuple.get("id", Long.class), tuple -> tuple.get("version", Long.class));
+        if (notModified.test(eTag)) return null;
+
+        var vos = phases.mapping(() -> tuples.stream()
+                .<PersonVO>map(tuple -> Fieldsets.toVO(tuple, fields, PersonVO.Sparse.class))
+                .toList());
+        return addSelfLinks(vos);
+    }
+
+    private List<PersonVO> withSelfLinks(List<Person> entities) {
+        var vos = phases.mapping(() -> DozerMapper.parseListObjects(entities, PersonVO.class));
+        return addSelfLinks(vos);
+    }
+
+    private List<PersonVO> addSelfLinks(List<PersonVO> vos) {
+        return phases.linking(() -> {
+            var selfLink = SelfLinkTemplate.of(key -> methodOn(PersonController.class).findById(key, null));
+            vos.forEach(vo -> vo.add(selfLink.withSelfRel(vo.getKey())));
+            return vos;
+        });
     }
 }
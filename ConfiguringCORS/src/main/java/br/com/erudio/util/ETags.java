@@ -0,0 +1,57 @@
+package br.com.erudio.util;
+
+import br.com.erudio.exceptions.PreconditionFailedException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Entity tags built from the {@code @Version} column.
+ * <p>
+ * A single resource is tagged with its version, which changes on every update. A page is tagged
+ * weakly from its size, its highest version and a hash of its (id, version) pairs: versions are
+ * per row, so the maximum alone would not change when a row below it is updated or replaced.
+ */
+public final class ETags {
+
+    private static final String ANY = "*";
+
+    private ETags() {}
+
+    public static String strong(Long version) {
+        return "\"" + valueOf(version) + "\"";
+    }
+
+    public static <T> String weak(List<T> rows, Function<T, Long> id, Function<T, Long> version) {
+        long maxVersion = 0;
+        int hash = 1;
+        for (var row : rows) {
+            long rowVersion = valueOf(version.apply(row));
+            maxVersion = Math.max(maxVersion, rowVersion);
+            hash = 31 * hash + Long.hashCode(valueOf(id.apply(row)));
+            hash = 31 * hash + Long.hashCode(rowVersion);
+        }
+        return "W/\"" + rows.size() + "-" + maxVersion + "-" + Integer.toHexString(hash) + "\"";
+    }
+
+    /**
+     * The version an {@code If-Match} header requires, or {@code null} when any version is acceptable.
+     * If-Match uses the strong comparison, so a weak or malformed tag can never match.
+     */
+    public static Long version(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) return null;
+
+        var tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"')
+            throw PreconditionFailedException.CHANGED;
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw PreconditionFailedException.CHANGED;
+        }
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.erudio.util;
+
+import br.com.erudio.exceptions.InvalidParameterException;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import jakarta.persistence.Tuple;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Sparse fieldsets: the {@code ?fields=} parameter of the collection endpoints.
+ * <p>
+ * Field names are the JSON property names listed in the VO's {@link JsonPropertyOrder}, which
+ * match the entity attribute names. The services fill the VO's {@code Sparse} subtype from the
+ * projection tuple: every other property stays {@code null} and is left out of the serialized
+ * body, while full representations keep writing their {@code null}s.
+ */
+public final class Fieldsets {
+
+    public static final String ID = "id";
+
+    private static final String KEY = "key";
+
+    private Fieldsets() {}
+
+    /**
+     * The requested fields in order, always including the id, or an empty set when the
+     * parameter is absent and every field is wanted.
+     */
+    public static Set<String> parse(String fields, Class<?> voType) {
+        if (fields == null || fields.isBlank()) return Set.of();
+
+        var allowed = Arrays.asList(voType.getAnnotation(JsonPropertyOrder.class).value());
+        var selected = new LinkedHashSet<String>();
+        selected.add(ID);
+        for (var field : fields.split(",")) {
+            var name = field.strip();
+            if (name.isEmpty()) continue;
+            if (!allowed.contains(name)) throw new InvalidParameterException("Unknown field: " + name + "!");
+            selected.add(name);
+        }
+        return selected;
+    }
+
+    public static <T> T toVO(Tuple tuple, Set<String> fields, Class<T> voType) {
+        var vo = BeanUtils.instantiateClass(voType);
+        var properties = PropertyAccessorFactory.forBeanPropertyAccess(vo);
+        for (var field : fields) {
+            properties.setPropertyValue(ID.equals(field) ? KEY : field, tuple.get(field));
+        }
+        return vo;
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.erudio.util;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times the repository, mapping and linking phases of a service call as {@code service.phase}
+ * timers tagged with the resource and the phase, so the per-endpoint {@code http.server.requests}
+ * latency can be broken down. Meters are registered once, against the global registry by default,
+ * which Spring Boot wires to the Prometheus registry.
+ */
+public class PhaseTimer {
+
+    public static final String METRIC_NAME = "service.phase";
+
+    private final Timer repository;
+    private final Timer mapping;
+    private final Timer linking;
+
+    public PhaseTimer(MeterRegistry registry, String resource) {
+        this.repository = timer(registry, resource, "repository");
+        this.mapping = timer(registry, resource, "mapping");
+        this.linking = timer(registry, resource, "linking");
+    }
+
+    public static PhaseTimer of(String resource) {
+        return new PhaseTimer(Metrics.globalRegistry, resource);
+    }
+
+    private static Timer timer(MeterRegistry registry, String resource, String phase) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time spent in one phase of a service call")
+                .tag("resource", resource)
+                .tag("phase", phase)
+                .register(registry);
+    }
+
+    public <T, E extends Exception> T repository(Phase<T, E> phase) throws E {
+        return time(repository, phase);
+    }
+
+    public <T, E extends Exception> T mapping(Phase<T, E> phase) throws E {
+        return time(mapping, phase);
+    }
+
+    public <T, E extends Exception> T linking(Phase<T, E> phase) throws E {
+        return time(linking, phase);
+    }
+
+    private static <T, E extends Exception> T time(Timer timer, Phase<T, E> phase) throws E {
+        var start = System.nanoTime();
+        try {
+            return phase.call();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Phase<T, E extends Exception> {
+        T call() throws E;
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.erudio.util;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+import org.springframework.hateoas.Link;
+
+/**
+ * Self link resolved once per request and stamped per element by string concatenation.
+ * <p>
+ * The controller invocation is expanded a single time through {@code WebMvcLinkBuilder}
+ * with a sentinel key, so each element gets exactly the href that
+ * {@code linkTo(methodOn(..).findById(key)).withSelfRel()} would produce, without
+ * a proxy invocation and URI template expansion per element.
+ */
+public class SelfLinkTemplate {
+
+    private static final Long SENTINEL_KEY = Long.MIN_VALUE;
+
+    private final String prefix;
+    private final String suffix;
+
+    private SelfLinkTemplate(String href) {
+        var sentinel = SENTINEL_KEY.toString();
+        var index = href.lastIndexOf(sentinel);
+        if (index < 0) throw new IllegalArgumentException("Invocation does not expand its key into the link: " + href);
+        this.prefix = href.substring(0, index);
+        this.suffix = href.substring(index + sentinel.length());
+    }
+
+    public static SelfLinkTemplate of(KeyedInvocation invocation) {
+        try {
+            return new SelfLinkTemplate(linkTo(invocation.invoke(SENTINEL_KEY)).toString());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public Link withSelfRel(Long key) {
+        return Link.of(prefix + key + suffix);
+    }
+
+    @FunctionalInterface
+    public interface KeyedInvocation {
+        Object invoke(Long key) throws Exception;
+    }
+}
@@ -0,0 +1,34 @@
+-- Size the book columns to the entity mapping so they can be indexed like the person names.
+-- Precondition: no author is longer than 180 characters and no title longer than 250. Rather than
+-- fail on the first such row in strict mode, or silently truncate it without, the check below
+-- stops the migration with a message; shorten those rows and start the application again.
+DROP PROCEDURE IF EXISTS `v7_check_book_lengths`;
+DELIMITER //
+CREATE PROCEDURE `v7_check_book_lengths`()
+BEGIN
+    IF (SELECT COALESCE(MAX(CHAR_LENGTH(`author`)), 0) FROM `books`) > 180
+        OR (SELECT COALESCE(MAX(CHAR_LENGTH(`title`)), 0) FROM `books`) > 250 THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT =
+            'V7: books.author must be at most 180 and books.title at most 250 characters; shorten the longer rows first';
+    END IF;
+END //
+DELIMITER ;
+CALL `v7_check_book_lengths`();
+DROP PROCEDURE `v7_check_book_lengths`;
+
+UPDATE `books` SET `author` = '' WHERE `author` IS NULL;
+UPDATE `books` SET `title` = '' WHERE `title` IS NULL;
+ALTER TABLE `books`
+    MODIFY `author` varchar(180) NOT NULL,
+    MODIFY `title` varchar(250) NOT NULL;
+
+-- InnoDB appends the primary key to every secondary index. For an equality match on the name the
+-- entries are therefore already in id order and "... AND id > ? ORDER BY id LIMIT ?" reads only
+-- one page of them. A LIKE 'prefix%' search is a range over several names, whose entries come
+-- back in name order: every page still reads and sorts all entries matching the prefix.
+CREATE INDEX `idx_person_first_name` ON `person` (`first_name`);
+CREATE INDEX `idx_person_last_name` ON `person` (`last_name`);
+
+CREATE INDEX `idx_books_title` ON `books` (`title`);
+CREATE INDEX `idx_books_author` ON `books` (`author`);
+CREATE FULLTEXT INDEX `ft_books_title_author` ON `books` (`title`, `author`);
@@ -0,0 +1,104 @@
+package br.com.erudio.benchmarks;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import br.com.erudio.serialization.converter.ProtobufJackson2HttpMessageConverter;
+
+/**
+ * Payload size and write/read cost of the JSON, CBOR, Smile and Protobuf converters
+ * for linked {@code findAll}-shaped bodies. The payload sizes are printed before the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatsBenchmark {
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    String format;
+
+    @Param({"person", "book"})
+    String resource;
+
+    @Param({"100", "10000"})
+    int size;
+
+    GenericHttpMessageConverter<Object> converter;
+    MediaType mediaType;
+    Object body;
+    Type bodyType;
+    byte[] document;
+
+    @Setup
+    public void setUp() throws Exception {
+        converter = converter(format);
+        mediaType = converter.getSupportedMediaTypes().get(0);
+        body = "person".equals(resource) ? LinkedBodies.people(size) : LinkedBodies.books(size);
+        bodyType = "person".equals(resource) ? LinkedBodies.PERSON_LIST : LinkedBodies.BOOK_LIST;
+        document = write(converter, mediaType, body, bodyType);
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        return write(converter, mediaType, body, bodyType).length;
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        var input = new MockHttpInputMessage(document);
+        input.getHeaders().setContentType(mediaType);
+        return converter.read(bodyType, null, input);
+    }
+
+    static GenericHttpMessageConverter<Object> converter(String format) {
+        return switch (format) {
+            case "json" -> new MappingJackson2HttpMessageConverter();
+            case "cbor" -> new MappingJackson2CborHttpMessageConverter();
+            case "smile" -> new MappingJackson2SmileHttpMessageConverter();
+            default -> new ProtobufJackson2HttpMessageConverter();
+        };
+    }
+
+    static byte[] write(GenericHttpMessageConverter<Object> converter, MediaType mediaType,
+                        Object body, Type bodyType) throws IOException {
+        var output = new MockHttpOutputMessage();
+        converter.write(body, bodyType, mediaType, output);
+        return output.getBodyAsBytes();
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (var format : new String[] {"json", "cbor", "smile", "protobuf"}) {
+            var converter = converter(format);
+            var mediaType = converter.getSupportedMediaTypes().get(0);
+            System.out.printf("%-8s person x100: %7d bytes, book x100: %7d bytes%n", format,
+                    write(converter, mediaType, LinkedBodies.people(100), LinkedBodies.PERSON_LIST).length,
+                    write(converter, mediaType, LinkedBodies.books(100), LinkedBodies.BOOK_LIST).length);
+        }
+        new Runner(new OptionsBuilder().include(BinaryFormatsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.erudio.benchmarks;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.util.SelfLinkTemplate;
+
+/**
+ * Cost of the per-element self link built for {@code PersonServices.findAll},
+ * resolved against a bound request the same way it is inside a real call:
+ * one {@code methodOn} proxy per element against a {@link SelfLinkTemplate}
+ * resolved once per list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkBenchmark {
+
+    @Param({"1", "100", "10000"})
+    int size;
+
+    @Setup
+    public void setUp() {
+        var request = new MockHttpServletRequest("GET", "/api/person/v1");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<Link> methodOnSelfLinks() throws Exception {
+        List<Link> links = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            links.add(linkTo(methodOn(PersonController.class).findById(id, null)).withSelfRel());
+        }
+        return links;
+    }
+
+    @Benchmark
+    public List<Link> templateSelfLinks() {
+        List<Link> links = new ArrayList<>(size);
+        var template = SelfLinkTemplate.of(key -> methodOn(PersonController.class).findById(key, null));
+        for (long id = 1; id <= size; id++) {
+            links.add(template.withSelfRel(id));
+        }
+        return links;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LinkBenchmark.class.getSimpleName()).build()).run();
+    }
+}
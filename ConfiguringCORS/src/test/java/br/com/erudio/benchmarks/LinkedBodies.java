@@ -0,0 +1,48 @@
+package br.com.erudio.benchmarks;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.ParameterizedTypeReference;
+
+import br.com.erudio.controllers.BookController;
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.unittests.mapper.mocks.MockBook;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+
+/**
+ * Response bodies shaped like the {@code findAll} results: mock VOs carrying their self link.
+ */
+class LinkedBodies {
+
+    static final Type PERSON_LIST = new ParameterizedTypeReference<List<PersonVO>>() {}.getType();
+    static final Type BOOK_LIST = new ParameterizedTypeReference<List<BookVO>>() {}.getType();
+
+    static List<PersonVO> people(int size) throws Exception {
+        var mock = new MockPerson();
+        var people = new ArrayList<PersonVO>(size);
+        for (int i = 0; i < size; i++) {
+            var vo = mock.mockVO(i);
+            vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey(), null)).withSelfRel());
+            people.add(vo);
+        }
+        return people;
+    }
+
+    static List<BookVO> books(int size) throws Exception {
+        var mock = new MockBook();
+        var books = new ArrayList<BookVO>(size);
+        for (int i = 0; i < size; i++) {
+            var vo = mock.mockVO(i);
+            vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey(), null)).withSelfRel());
+            books.add(vo);
+        }
+        return books;
+    }
+}
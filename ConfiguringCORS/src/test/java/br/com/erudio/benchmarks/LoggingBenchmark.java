@@ -0,0 +1,94 @@
+package br.com.erudio.benchmarks;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.datasource.RecentWrites;
+import br.com.erudio.exceptions.handler.CustomizedResponseEntityExceptionHandler;
+import br.com.erudio.logging.RequestIdFilter;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonServices;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+
+/**
+ * Latency of {@code GET /api/person/v1/{id}} through MockMvc with the request-id filter, with the
+ * application loggers at {@code OFF} and at {@code INFO}. The fork uses the application's
+ * {@code log4j2-spring.xml} and asynchronous loggers, writing to {@code target/benchmark-logs}
+ * with the console appender switched off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+        "-Dlog4j2.configurationFile=log4j2-spring.xml",
+        "-DLOG_PATH=target/benchmark-logs",
+        "-DCONSOLE_LOG_THRESHOLD=OFF"})
+public class LoggingBenchmark {
+
+    @Param({"OFF", "INFO"})
+    String level;
+
+    MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        Configurator.setLevel("br.com.erudio", Level.toLevel(level));
+
+        var person = new MockPerson().mockEntity(1);
+        person.setVersion(1L);
+        var repository = (PersonRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {PersonRepository.class},
+                (proxy, method, args) -> method.getName().equals("findById") ? Optional.of(person) : null);
+
+        var services = new PersonServices();
+        ReflectionTestUtils.setField(services, "repository", repository);
+        ReflectionTestUtils.setField(services, "recentWrites", new RecentWrites(Duration.ZERO));
+        var controller = new PersonController();
+        ReflectionTestUtils.setField(controller, "service", services);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new CustomizedResponseEntityExceptionHandler())
+                .addFilters(new RequestIdFilter())
+                .build();
+    }
+
+    @Benchmark
+    public int findById() throws Exception {
+        var response = mockMvc.perform(get("/api/person/v1/1").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+        if (response.getStatus() != HttpStatus.OK.value()) throw new IllegalStateException();
+        return response.getContentLength();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoggingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.erudio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.model.Person;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+
+/**
+ * Compares the reflective Dozer path with the generated mappers that
+ * {@link DozerMapper} now delegates to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "100", "10000"})
+    int size;
+
+    Mapper dozer;
+    List<Person> people;
+
+    @Setup
+    public void setUp() {
+        dozer = DozerBeanMapperBuilder.buildDefault();
+        var mock = new MockPerson();
+        people = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            people.add(mock.mockEntity(i));
+        }
+    }
+
+    @Benchmark
+    public List<PersonVO> dozerReflection() {
+        return people.stream().map(p -> dozer.map(p, PersonVO.class)).toList();
+    }
+
+    @Benchmark
+    public List<PersonVO> generatedMapper() {
+        return DozerMapper.parseListObjects(people, PersonVO.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.erudio.benchmarks;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.WebRequest;
+
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.datasource.RecentWrites;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.exceptions.ExceptionsResponse;
+import br.com.erudio.exceptions.handler.CustomizedResponseEntityExceptionHandler;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonServices;
+
+/**
+ * {@code GET /api/person/v1/{id}} for ids that do not exist, through the MVC stack with the
+ * exception handler. {@code previous} throws a new exception with a full stack trace per request and
+ * answers through a {@code WebRequest}; {@code stackless} is the current path. Run with the GC
+ * profiler ({@code main} adds it) to see the allocation per 404 as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundBenchmark {
+
+    MockMvc previous;
+    MockMvc stackless;
+    long id;
+
+    @Setup
+    public void setUp() {
+        // the service logs every lookup; LoggingBenchmark measures that part
+        Configurator.setLevel(PersonServices.class.getName(), Level.WARN);
+
+        // a proxy rather than a Mockito mock, which walks the stack on every call
+        var repository = (PersonRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {PersonRepository.class},
+                (proxy, method, args) -> method.getName().equals("findById") ? Optional.empty() : null);
+
+        previous = mockMvc(new PreviousPersonServices(repository), repository, new PreviousExceptionHandler());
+        stackless = mockMvc(new PersonServices(), repository, new CustomizedResponseEntityExceptionHandler());
+    }
+
+    private static MockMvc mockMvc(PersonServices services, PersonRepository repository, Object advice) {
+        ReflectionTestUtils.setField(services, "repository", repository);
+        ReflectionTestUtils.setField(services, "recentWrites", new RecentWrites(Duration.ZERO));
+        var controller = new PersonController();
+        ReflectionTestUtils.setField(controller, "service", services);
+        return MockMvcBuilders.standaloneSetup(controller).setControllerAdvice(advice).build();
+    }
+
+    @Benchmark
+    public int previous() throws Exception {
+        return notFound(previous);
+    }
+
+    @Benchmark
+    public int stackless() throws Exception {
+        return notFound(stackless);
+    }
+
+    private int notFound(MockMvc mockMvc) throws Exception {
+        var response = mockMvc.perform(get("/api/person/v1/{id}", ++id).accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+        if (response.getStatus() != HttpStatus.NOT_FOUND.value()) throw new IllegalStateException();
+        return response.getContentLength();
+    }
+
+    static class PreviousNotFoundException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        PreviousNotFoundException(String ex) {
+            super(ex);
+        }
+    }
+
+    static class PreviousPersonServices extends PersonServices {
+
+        final PersonRepository people;
+
+        PreviousPersonServices(PersonRepository people) {
+            this.people = people;
+        }
+
+        @Override
+        public PersonVO findById(Long id, Predicate<String> notModified) {
+            people.findById(id).orElseThrow(() -> new PreviousNotFoundException("No records found for this ID!"));
+            throw new IllegalStateException();
+        }
+    }
+
+    @ControllerAdvice
+    static class PreviousExceptionHandler {
+
+        @ExceptionHandler(PreviousNotFoundException.class)
+        public ResponseEntity<ExceptionsResponse> handleNotFoundExceptions(Exception ex, WebRequest request) {
+            ExceptionsResponse exceptionResponse = new ExceptionsResponse(
+                    new Date(), ex.getMessage(), request.getDescription(false));
+            return new ResponseEntity<>(exceptionResponse, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NotFoundBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
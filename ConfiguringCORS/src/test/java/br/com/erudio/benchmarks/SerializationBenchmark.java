@@ -0,0 +1,94 @@
+package br.com.erudio.benchmarks;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.serialization.converter.YamlJackson2HttpMesageConverter;
+
+/**
+ * Writes linked {@link PersonVO}/{@link BookVO} lists through the same message
+ * converters the application registers for JSON, XML and YAML.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"json", "xml", "yaml"})
+    String format;
+
+    @Param({"person", "book"})
+    String resource;
+
+    @Param({"100", "10000"})
+    int size;
+
+    GenericHttpMessageConverter<Object> converter;
+    MediaType mediaType;
+    Object body;
+    Type bodyType;
+
+    @Setup
+    public void setUp() throws Exception {
+        switch (format) {
+            case "json" -> {
+                converter = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+                mediaType = MediaType.APPLICATION_JSON;
+            }
+            case "xml" -> {
+                converter = new MappingJackson2XmlHttpMessageConverter(Jackson2ObjectMapperBuilder.xml().build());
+                mediaType = MediaType.APPLICATION_XML;
+            }
+            default -> {
+                converter = new YamlJackson2HttpMesageConverter();
+                mediaType = MediaType.valueOf("application/x-yaml");
+            }
+        }
+
+        if ("person".equals(resource)) {
+            body = LinkedBodies.people(size);
+            bodyType = LinkedBodies.PERSON_LIST;
+        } else {
+            body = LinkedBodies.books(size);
+            bodyType = LinkedBodies.BOOK_LIST;
+        }
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        var output = new MockHttpOutputMessage();
+        converter.write(body, bodyType, mediaType, output);
+        return output.getBodyAsBytes().length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
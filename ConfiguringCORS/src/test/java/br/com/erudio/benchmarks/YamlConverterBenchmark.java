@@ -0,0 +1,107 @@
+package br.com.erudio.benchmarks;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.serialization.converter.YamlJackson2HttpMesageConverter;
+
+/**
+ * The tuned YAML converter, with and without minimized quotes, against the previous
+ * {@code AbstractJackson2HttpMessageConverter} over a default {@link YAMLMapper},
+ * writing and reading linked {@link PersonVO}/{@link BookVO} lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YamlConverterBenchmark {
+
+    private static final MediaType APPLICATION_YAML = MediaType.valueOf("application/x-yaml");
+
+    @Param({"previous", "cached", "minimizeQuotes"})
+    String converterType;
+
+    @Param({"person", "book"})
+    String resource;
+
+    @Param({"100", "10000"})
+    int size;
+
+    GenericHttpMessageConverter<Object> converter;
+    Object body;
+    Type bodyType;
+    byte[] document;
+
+    @Setup
+    public void setUp() throws Exception {
+        converter = switch (converterType) {
+            case "previous" -> new PreviousYamlConverter();
+            case "cached" -> new YamlJackson2HttpMesageConverter().warmUp(LinkedBodies.PERSON_LIST, LinkedBodies.BOOK_LIST);
+            default -> new YamlJackson2HttpMesageConverter(true).warmUp(LinkedBodies.PERSON_LIST, LinkedBodies.BOOK_LIST);
+        };
+
+        if ("person".equals(resource)) {
+            body = LinkedBodies.people(size);
+            bodyType = LinkedBodies.PERSON_LIST;
+        } else {
+            body = LinkedBodies.books(size);
+            bodyType = LinkedBodies.BOOK_LIST;
+        }
+
+        var output = new MockHttpOutputMessage();
+        converter.write(body, bodyType, APPLICATION_YAML, output);
+        document = output.getBodyAsBytes();
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        var output = new MockHttpOutputMessage();
+        converter.write(body, bodyType, APPLICATION_YAML, output);
+        return output.getBodyAsBytes().length;
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        var input = new MockHttpInputMessage(document);
+        input.getHeaders().setContentType(APPLICATION_YAML);
+        return converter.read(bodyType, null, input);
+    }
+
+    static class PreviousYamlConverter extends AbstractJackson2HttpMessageConverter {
+        PreviousYamlConverter() {
+            super(new YAMLMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL), APPLICATION_YAML);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(YamlConverterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.erudio.integrationtests.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.datasource.ReplicaLagMonitor;
+import br.com.erudio.integrationtests.testcontainers.AbstractReplicaIntegrationTest;
+import br.com.erudio.services.BookServices;
+import br.com.erudio.services.PersonServices;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestMethodOrder(OrderAnnotation.class)
+public class ReadReplicaRoutingTest extends AbstractReplicaIntegrationTest {
+
+    private static final String REPLICA_NAME = "Replica";
+
+    @Autowired
+    private PersonServices personServices;
+
+    @Autowired
+    private BookServices bookServices;
+
+    @Autowired
+    private ReplicaLagMonitor monitor;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private void awaitReplicaUsable(boolean usable) throws InterruptedException {
+        for (int i = 0; i < 100 && monitor.isReplicaUsable() != usable; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(usable, monitor.isReplicaUsable());
+    }
+
+    @Test
+    @Order(1)
+    public void testReadOnlyMethodsReadFromTheReplica() throws Exception {
+        setReplicaLag(0);
+        awaitReplicaUsable(true);
+        update(replica, "UPDATE person SET first_name = '" + REPLICA_NAME + "' WHERE id = 1");
+        update(replica, "UPDATE books SET title = '" + REPLICA_NAME + "' WHERE id = 1");
+
+        assertEquals(REPLICA_NAME, personServices.findById(1L).getFirstName());
+        assertEquals(REPLICA_NAME, personServices.findAll(0L, 1).get(0).getFirstName());
+        assertEquals(REPLICA_NAME, bookServices.findById(1L).getTitle());
+    }
+
+    @Test
+    @Order(2)
+    public void testWritesGoToThePrimary() throws Exception {
+        var person = new PersonVO();
+        person.setFirstName("Primary");
+        person.setLastName("Only");
+        person.setAddress("Uberlândia - Minas Gerais - Brasil");
+        person.setGender("Female");
+
+        var created = personServices.create(person);
+
+        assertEquals(1, count(primary, "SELECT COUNT(*) FROM person WHERE id = " + created.getKey()));
+        assertEquals(0, count(replica, "SELECT COUNT(*) FROM person WHERE id = " + created.getKey()));
+    }
+
+    @Test
+    @Order(3)
+    public void testLaggingReplicaFallsBackToThePrimary() throws Exception {
+        setReplicaLag(60);
+        awaitReplicaUsable(false);
+
+        assertNotEquals(REPLICA_NAME, personServices.findById(1L).getFirstName());
+        assertNotEquals(REPLICA_NAME, bookServices.findById(1L).getTitle());
+
+        setReplicaLag(0);
+        awaitReplicaUsable(true);
+        update(replica, "UPDATE person SET first_name = '" + REPLICA_NAME + "' WHERE id = 2");
+
+        assertEquals(REPLICA_NAME, personServices.findById(2L).getFirstName());
+    }
+
+    @Test
+    @Order(4)
+    public void testReadsRightAfterAnUpdateSeeIt() throws Exception {
+        setReplicaLag(1);
+        awaitReplicaUsable(true);
+
+        var person = personServices.findById(3L);
+        var book = bookServices.findById(3L);
+        person.setFirstName("Updated");
+        book.setTitle("Updated");
+        personServices.update(person, null);
+        bookServices.update(book, null);
+
+        // the replica never receives the writes: within max-lag, but behind
+        assertEquals(0, count(replica, "SELECT COUNT(*) FROM person WHERE id = 3 AND first_name = 'Updated'"));
+        assertEquals("Updated", personServices.findById(3L).getFirstName());
+        assertEquals("Updated", personServices.findAll(2L, 1).get(0).getFirstName());
+        assertEquals("Updated", bookServices.findById(3L).getTitle());
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.erudio.integrationtests.testcontainers;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.lifecycle.Startables;
+
+/**
+ * Two independent MySQL servers, the second standing in for a read replica. It gets the same
+ * migrations as the primary and a one-row {@code replica_lag} table that the monitor reads
+ * instead of {@code SHOW REPLICA STATUS}, so tests can tell which server answered a query and
+ * set the lag the application sees.
+ */
+@ContextConfiguration(initializers = AbstractReplicaIntegrationTest.Initializer.class)
+public class AbstractReplicaIntegrationTest {
+
+    protected static MySQLContainer<?> primary = new MySQLContainer<>("mysql:8.0.29");
+    protected static MySQLContainer<?> replica = new MySQLContainer<>("mysql:8.0.29");
+
+    protected static int update(MySQLContainer<?> mysql, String sql) throws SQLException {
+        try (var connection = DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+             var statement = connection.createStatement()) {
+            return statement.executeUpdate(sql);
+        }
+    }
+
+    protected static long count(MySQLContainer<?> mysql, String sql) throws SQLException {
+        try (var connection = DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+             var statement = connection.createStatement();
+             var result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    protected static void setReplicaLag(int seconds) throws SQLException {
+        update(replica, "UPDATE replica_lag SET seconds = " + seconds);
+    }
+
+    static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+        private static void startContainers() throws SQLException {
+            Startables.deepStart(Stream.of(primary, replica)).join();
+            if (count(replica, "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = 'replica_lag'") == 0) {
+                Flyway.configure()
+                        .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                        .load()
+                        .migrate();
+                update(replica, "CREATE TABLE replica_lag (seconds INT NOT NULL)");
+                update(replica, "INSERT INTO replica_lag VALUES (0)");
+            }
+        }
+
+        private static Map<String, String> createConnectionConfiguration() {
+            return Map.of(
+                    "spring.datasource.url", primary.getJdbcUrl(),
+                    "spring.datasource.username", primary.getUsername(),
+                    "spring.datasource.password", primary.getPassword(),
+                    "datasource.replica.url", replica.getJdbcUrl(),
+                    "datasource.replica.username", replica.getUsername(),
+                    "datasource.replica.password", replica.getPassword(),
+                    "datasource.replica.check-interval", "200ms",
+                    "datasource.replica.lag-query", "SELECT seconds FROM replica_lag"
+            );
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        @Override
+        public void initialize(ConfigurableApplicationContext applicationContext) {
+            try {
+                startContainers();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not prepare the replica", e);
+            }
+            ConfigurableEnvironment environment = applicationContext.getEnvironment();
+            MapPropertySource testcontainers = new MapPropertySource(
+                    "testcontainers",
+                    (Map) createConnectionConfiguration());
+            environment.getPropertySources().addFirst(testcontainers);
+        }
+    }
+}
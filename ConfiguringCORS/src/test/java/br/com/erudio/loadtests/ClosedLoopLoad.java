@@ -0,0 +1,109 @@
+package br.com.erudio.loadtests;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop load against a running instance: each client sends its next request as soon as the
+ * previous one completes, so throughput is bounded by the server rather than by the offered rate.
+ * Prints the request count, errors, throughput and latency percentiles.
+ */
+class ClosedLoopLoad {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    /**
+     * @param urls called once per request, from many threads at once
+     */
+    void run(String label, Supplier<URI> urls, int clients, Duration duration) throws InterruptedException {
+        var errors = new LongAdder();
+        var latencies = Collections.synchronizedList(new ArrayList<long[]>(clients));
+        var started = new CountDownLatch(1);
+        var deadline = new long[1];
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                var samples = new LatencySamples();
+                executor.submit(() -> {
+                    started.await();
+                    while (System.nanoTime() < deadline[0]) {
+                        var request = HttpRequest.newBuilder(urls.get())
+                                .header("Accept", "application/json")
+                                .timeout(Duration.ofSeconds(60))
+                                .build();
+                        var start = System.nanoTime();
+                        try {
+                            var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) errors.increment();
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        samples.add(System.nanoTime() - start);
+                    }
+                    latencies.add(samples.toArray());
+                    return null;
+                });
+            }
+            deadline[0] = System.nanoTime() + duration.toNanos();
+            started.countDown();
+        }
+
+        report(label, clients, duration, merge(latencies), errors.sum());
+    }
+
+    /**
+     * The body of a plain GET, for reading the server's own metrics after a run.
+     */
+    String get(URI url) throws Exception {
+        return client.send(HttpRequest.newBuilder(url).build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static long[] merge(List<long[]> perClient) {
+        var merged = perClient.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    private static void report(String label, int clients, Duration duration, long[] latencies, long errors) {
+        System.out.printf("%s with %d clients for %ds%n", label, clients, duration.toSeconds());
+        System.out.printf("requests: %d, errors: %d, throughput: %.1f req/s%n",
+                latencies.length, errors, latencies.length / (double) duration.toSeconds());
+        if (latencies.length == 0) return;
+        System.out.printf("latency ms: p50 %.1f, p90 %.1f, p99 %.1f, max %.1f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static class LatencySamples {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.erudio.loadtests;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop {@code GET /api/person/v1/{id}} load over a range of ids, for comparing the default
+ * datasource settings with the {@code production} profile, followed by the server's HikariCP
+ * metrics for the same run.
+ * <p>
+ * {@code findById} is cached, so start the application without the cache to make every request
+ * borrow a connection, once with and once without the profile:
+ * <pre>
+ * java -jar target/ConnectingToMySQL-0.0.1-SNAPSHOT.jar --spring.cache.type=none [--spring.profiles.active=production]
+ * java -cp target/test-classes br.com.erudio.loadtests.ConnectionPoolLoadRunner \
+ *     [base=http://localhost:8080] [maxId=1000] [clients=200] [seconds=60]
+ * </pre>
+ * Compare the client p99 with {@code hikaricp_connections_acquire_seconds} (time waiting for a
+ * connection), {@code hikaricp_connections_pending} and {@code hikaricp_connections_active}.
+ */
+public class ConnectionPoolLoadRunner {
+
+    public static void main(String[] args) throws Exception {
+        var base = args.length > 0 ? args[0] : "http://localhost:8080";
+        var maxId = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        var clients = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        var duration = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 60);
+
+        var load = new ClosedLoopLoad();
+        load.run(base + "/api/person/v1/{id} with ids 1-" + maxId,
+                () -> URI.create(base + "/api/person/v1/" + ThreadLocalRandom.current().nextLong(1, maxId + 1)),
+                clients, duration);
+
+        System.out.println("pool metrics:");
+        load.get(URI.create(base + "/actuator/prometheus")).lines()
+                .filter(line -> line.startsWith("hikaricp_connections") && !line.contains("_bucket"))
+                .forEach(System.out::println);
+    }
+}
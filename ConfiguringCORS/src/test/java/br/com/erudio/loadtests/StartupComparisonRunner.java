@@ -0,0 +1,139 @@
+package br.com.erudio.loadtests;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Startup time and resident memory of the JVM and native builds, for sizing scale-to-zero
+ * deployments. Each variant is started {@code runs} times against the same database; a run is
+ * ready at the first {@code 200} from {@code /actuator/health}, and its RSS is read from
+ * {@code /proc} then and again after {@code requests} sequential page requests.
+ * <pre>
+ * mvn -Pnative package      # with GraalVM as JAVA_HOME; -DskipNativeBuild for the jar only
+ * mvn test-compile
+ * java -cp target/test-classes br.com.erudio.loadtests.StartupComparisonRunner \
+ *     [runs=5] [requests=500] [-- application arguments]
+ * </pre>
+ * {@code jvm+aot} runs the same jar with {@code -Dspring.aot.enabled=true}, which uses the bean
+ * definitions generated at build time without a native image. Variants whose artifact has not been
+ * built are skipped. Run it from the module directory, on Linux.
+ */
+public class StartupComparisonRunner {
+
+    private static final Path JAR = Path.of("target/ConnectingToMySQL-0.0.1-SNAPSHOT.jar");
+    private static final Path EXECUTABLE = Path.of("target/ConnectingToMySQL");
+    private static final URI HEALTH = URI.create("http://localhost:8080/actuator/health");
+    private static final URI PAGE = URI.create("http://localhost:8080/api/person/v1?size=12");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Pattern STARTED = Pattern.compile("Started Startup in ([0-9.]+) seconds");
+
+    private static final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private record Run(double readyMillis, double reportedMillis, double rssAtReadyMb, double rssAfterRequestsMb) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var separator = Arrays.asList(args).indexOf("--");
+        var options = separator < 0 ? args : Arrays.copyOfRange(args, 0, separator);
+        var applicationArgs = separator < 0 ? List.<String>of() : List.of(args).subList(separator + 1, args.length);
+        var runs = options.length > 0 ? Integer.parseInt(options[0]) : 5;
+        var requests = options.length > 1 ? Integer.parseInt(options[1]) : 500;
+
+        var java = ProcessHandle.current().info().command().orElse("java");
+        var variants = new LinkedHashMap<String, List<String>>();
+        if (Files.exists(JAR)) {
+            variants.put("jvm", List.of(java, "-jar", JAR.toString()));
+            variants.put("jvm+aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", JAR.toString()));
+        }
+        if (Files.isExecutable(EXECUTABLE)) {
+            variants.put("native", List.of(EXECUTABLE.toString()));
+        }
+        if (variants.isEmpty()) throw new IllegalStateException("Nothing built under target/, see the class comment");
+
+        for (var variant : variants.entrySet()) {
+            var command = new ArrayList<>(variant.getValue());
+            command.addAll(applicationArgs);
+
+            var results = new ArrayList<Run>(runs);
+            for (int i = 0; i < runs; i++) results.add(startOnce(command, requests));
+            report(variant.getKey(), results, requests);
+        }
+    }
+
+    private static Run startOnce(List<String> command, int requests) throws Exception {
+        var log = Files.createTempFile("startup-", ".log");
+        var start = System.nanoTime();
+        var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            awaitHealthy(process, start);
+            var readyMillis = (System.nanoTime() - start) / 1e6;
+            var rssAtReady = rssMb(process.pid());
+
+            for (int i = 0; i < requests; i++) {
+                client.send(HttpRequest.newBuilder(PAGE).build(), HttpResponse.BodyHandlers.discarding());
+            }
+            var rssAfterRequests = rssMb(process.pid());
+
+            var started = STARTED.matcher(Files.readString(log));
+            var reportedMillis = started.find() ? Double.parseDouble(started.group(1)) * 1000 : Double.NaN;
+            return new Run(readyMillis, reportedMillis, rssAtReady, rssAfterRequests);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) process.destroyForcibly().waitFor();
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private static void awaitHealthy(Process process, long start) throws InterruptedException {
+        var request = HttpRequest.newBuilder(HEALTH).timeout(Duration.ofSeconds(1)).build();
+        while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) throw new IllegalStateException("Exited with " + process.exitValue() + " before it was healthy");
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) return;
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Not healthy after " + STARTUP_TIMEOUT.toSeconds() + "s");
+    }
+
+    private static double rssMb(long pid) throws IOException {
+        return Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status")).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElseThrow() / 1024.0;
+    }
+
+    private static void report(String variant, List<Run> runs, int requests) {
+        System.out.printf("%s, median of %d runs%n", variant, runs.size());
+        System.out.printf("ready in: %.0f ms (reported by Spring: %.0f ms)%n",
+                median(runs, Run::readyMillis), median(runs, Run::reportedMillis));
+        System.out.printf("rss MB: %.0f when ready, %.0f after %d requests%n",
+                median(runs, Run::rssAtReadyMb), median(runs, Run::rssAfterRequestsMb), requests);
+    }
+
+    private static double median(List<Run> runs, ToDoubleFunction<Run> metric) {
+        var sorted = runs.stream().mapToDouble(metric).sorted().toArray();
+        return sorted[(sorted.length - 1) / 2];
+    }
+}
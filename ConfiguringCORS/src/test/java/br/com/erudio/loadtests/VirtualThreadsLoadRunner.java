@@ -0,0 +1,27 @@
+package br.com.erudio.loadtests;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Closed-loop load against a running instance, for comparing the default Tomcat worker pool with
+ * the {@code virtual-threads} profile. Each client sends its next request as soon as the previous
+ * one completes, so throughput is bounded by the server rather than by the offered rate.
+ * <p>
+ * Start the application once with and once without {@code --spring.profiles.active=virtual-threads}
+ * and run this against each:
+ * <pre>
+ * java -cp target/test-classes br.com.erudio.loadtests.VirtualThreadsLoadRunner \
+ *     [url=http://localhost:8080/api/person/v1?size=12] [clients=2000] [seconds=30]
+ * </pre>
+ */
+public class VirtualThreadsLoadRunner {
+
+    public static void main(String[] args) throws Exception {
+        var url = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/api/person/v1?size=12");
+        var clients = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        var duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+
+        new ClosedLoopLoad().run(url.toString(), () -> url, clients, duration);
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.erudio.unittests.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import br.com.erudio.cache.PageCaches;
+import br.com.erudio.config.CacheConfig;
+
+public class PageCachesTest {
+
+    private static final String KEY = "/api/person/v1?after=0&size=12 application/json";
+
+    private PageCaches pageCaches;
+
+    @BeforeEach
+    public void setUp() {
+        pageCaches = new PageCaches(new ConcurrentMapCacheManager(CacheConfig.PEOPLE_PAGES, CacheConfig.PEOPLE));
+    }
+
+    @AfterEach
+    public void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void evictsOnlyAfterCommitInsideTransactionTest() {
+        var generation = pageCaches.generation(CacheConfig.PEOPLE_PAGES);
+        assertTrue(pageCaches.putIfCurrent(CacheConfig.PEOPLE_PAGES, KEY, "page", generation));
+
+        TransactionSynchronizationManager.initSynchronization();
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+        assertNotNull(pageCaches.get(CacheConfig.PEOPLE_PAGES).get(KEY));
+        assertEquals(generation, pageCaches.generation(CacheConfig.PEOPLE_PAGES));
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertNull(pageCaches.get(CacheConfig.PEOPLE_PAGES).get(KEY));
+        assertEquals(generation + 1, pageCaches.generation(CacheConfig.PEOPLE_PAGES));
+    }
+
+    @Test
+    public void evictsAtOnceOutsideTransactionTest() {
+        pageCaches.putIfCurrent(CacheConfig.PEOPLE_PAGES, KEY, "page", pageCaches.generation(CacheConfig.PEOPLE_PAGES));
+
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+
+        assertNull(pageCaches.get(CacheConfig.PEOPLE_PAGES).get(KEY));
+    }
+
+    @Test
+    public void refusesPageReadBeforeEvictionTest() {
+        var generation = pageCaches.generation(CacheConfig.PEOPLE_PAGES);
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+
+        assertFalse(pageCaches.putIfCurrent(CacheConfig.PEOPLE_PAGES, KEY, "stale page", generation));
+        assertNull(pageCaches.get(CacheConfig.PEOPLE_PAGES).get(KEY));
+    }
+
+    @Test
+    public void evictsEntitiesOnlyAfterCommitInsideTransactionTest() {
+        var people = pageCaches.guarded(CacheConfig.PEOPLE);
+        people.put(1L, "person 1");
+        people.put(2L, "person 2");
+
+        TransactionSynchronizationManager.initSynchronization();
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE, List.of(1L));
+        assertNotNull(people.get(1L));
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertNull(people.get(1L));
+        assertNotNull(people.get(2L));
+    }
+
+    @Test
+    public void refusesEntityReadBeforeEvictionTest() {
+        var people = pageCaches.guarded(CacheConfig.PEOPLE);
+
+        // a findById misses, the update commits and evicts, then the old row is put back
+        assertNull(people.get(1L));
+        pageCaches.evictAfterCommit(CacheConfig.PEOPLE, List.of(1L));
+        people.put(1L, "old person 1");
+        assertNull(people.get(1L));
+
+        people.put(1L, "person 1");
+        assertEquals("person 1", people.get(1L).get());
+    }
+
+    @Test
+    public void storesEntityReadAfterMissWithoutEvictionTest() {
+        var people = pageCaches.guarded(CacheConfig.PEOPLE);
+
+        assertNull(people.get(1L));
+        people.put(1L, "person 1");
+
+        assertEquals("person 1", people.get(1L).get());
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.erudio.unittests.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import br.com.erudio.cache.PageCaches;
+import br.com.erudio.config.CacheConfig;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+
+@SpringJUnitConfig
+public class RepositoryCacheTest {
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class Config {
+
+        static final PersonRepository delegate = mock(PersonRepository.class);
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.PEOPLE);
+        }
+
+        @Bean
+        PersonRepository personRepository() {
+            return delegate;
+        }
+    }
+
+    @Autowired
+    PersonRepository repository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    PageCaches pageCaches;
+
+    MockPerson input = new MockPerson();
+
+    @BeforeEach
+    void setUp() {
+        reset(Config.delegate);
+        cacheManager.getCache(CacheConfig.PEOPLE).clear();
+    }
+
+    @Test
+    void testFindByIdHitsDatabaseOnce() {
+        Person entity = input.mockEntity(1);
+        when(Config.delegate.findById(1L)).thenReturn(Optional.of(entity));
+
+        assertEquals(entity, repository.findById(1L).orElseThrow());
+        assertEquals(entity, repository.findById(1L).orElseThrow());
+
+        verify(Config.delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void testMissingIdIsNotCached() {
+        when(Config.delegate.findById(9L)).thenReturn(Optional.empty());
+
+        repository.findById(9L);
+        repository.findById(9L);
+
+        verify(Config.delegate, times(2)).findById(9L);
+    }
+
+    @Test
+    void testSaveWritesThrough() {
+        Person entity = input.mockEntity(2);
+        when(Config.delegate.save(entity)).thenReturn(entity);
+
+        repository.save(entity);
+
+        assertEquals(entity, repository.findById(2L).orElseThrow());
+        verify(Config.delegate, times(0)).findById(2L);
+    }
+
+    @Test
+    void testDeleteEvicts() {
+        Person entity = input.mockEntity(3);
+        when(Config.delegate.findById(3L)).thenReturn(Optional.of(entity));
+
+        repository.findById(3L);
+        assertNotNull(cacheManager.getCache(CacheConfig.PEOPLE).get(3L));
+
+        repository.delete(entity);
+        assertNull(cacheManager.getCache(CacheConfig.PEOPLE).get(3L));
+
+        repository.findById(4L);
+        repository.deleteById(3L);
+        assertNull(cacheManager.getCache(CacheConfig.PEOPLE).get(3L));
+    }
+
+    @Test
+    void testReadRacingAnUpdateIsNotCached() {
+        Person entity = input.mockEntity(5);
+        // the update commits and evicts while the read still holds the old row
+        when(Config.delegate.findById(5L)).thenAnswer(invocation -> {
+            pageCaches.evictAfterCommit(CacheConfig.PEOPLE, List.of(5L));
+            return Optional.of(entity);
+        });
+
+        assertEquals(entity, repository.findById(5L).orElseThrow());
+        assertNull(cacheManager.getCache(CacheConfig.PEOPLE).get(5L));
+
+        when(Config.delegate.findById(5L)).thenReturn(Optional.of(entity));
+        repository.findById(5L);
+        assertNotNull(cacheManager.getCache(CacheConfig.PEOPLE).get(5L));
+    }
+}
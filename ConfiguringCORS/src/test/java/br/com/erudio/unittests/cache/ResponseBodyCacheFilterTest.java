@@ -0,0 +1,163 @@
+package br.com.erudio.unittests.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import br.com.erudio.cache.PageCaches;
+import br.com.erudio.cache.ResponseBodyCacheFilter;
+import br.com.erudio.config.CacheConfig;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class ResponseBodyCacheFilterTest {
+
+    private static final String PATH = "/api/person/v1";
+    private static final byte[] BODY = "[{\"id\":1,\"firstName\":\"Ayrton\"}]".getBytes(StandardCharsets.UTF_8);
+
+    private ConcurrentMapCacheManager cacheManager;
+    private PageCaches pageCaches;
+    private ResponseBodyCacheFilter filter;
+    private int rendered;
+    private int status;
+    private Runnable duringRender;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.PEOPLE_PAGES);
+        pageCaches = new PageCaches(cacheManager);
+        filter = new ResponseBodyCacheFilter(pageCaches, Map.of(PATH, CacheConfig.PEOPLE_PAGES));
+        rendered = 0;
+        status = HttpServletResponse.SC_OK;
+        duringRender = () -> {};
+    }
+
+    private MockHttpServletResponse get(String accept, String... headers) throws Exception {
+        var request = new MockHttpServletRequest("GET", PATH);
+        request.setQueryString("after=0&size=12");
+        request.addHeader(HttpHeaders.ACCEPT, accept);
+        for (int i = 0; i < headers.length; i += 2) request.addHeader(headers[i], headers[i + 1]);
+
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                rendered++;
+                duringRender.run();
+                res.setStatus(status);
+                res.setContentType(req.getHeader(HttpHeaders.ACCEPT));
+                res.setHeader(HttpHeaders.ETAG, "W/\"1-0-abc\"");
+                res.getOutputStream().write(BODY);
+            }
+        }));
+        return response;
+    }
+
+    @Test
+    public void servesRepeatedRequestsFromCacheTest() throws Exception {
+        var first = get("application/json");
+        var second = get("application/json");
+
+        assertEquals(1, rendered);
+        assertArrayEquals(BODY, first.getContentAsByteArray());
+        assertArrayEquals(BODY, second.getContentAsByteArray());
+        assertEquals("application/json", second.getContentType());
+        assertEquals("W/\"1-0-abc\"", second.getHeader(HttpHeaders.ETAG));
+
+        get("application/xml");
+        assertEquals(2, rendered);
+    }
+
+    @Test
+    public void servesPrecompressedBodyTest() throws Exception {
+        get("application/json");
+        var response = get("application/json", HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+        assertEquals(1, rendered);
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertArrayEquals(BODY, gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    public void answersNotModifiedFromCacheTest() throws Exception {
+        get("application/json");
+        var response = get("application/json", HttpHeaders.IF_NONE_MATCH, "W/\"1-0-abc\"");
+
+        assertEquals(1, rendered);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(0, response.getContentLength());
+    }
+
+    @Test
+    public void comparesIfNoneMatchWeaklyAcrossListsTest() throws Exception {
+        get("application/json");
+
+        for (var ifNoneMatch : List.of("\"1-0-abc\"", "W/\"0-0-old\" ,W/\"1-0-abc\"", " W/\"0-0-old\", \"1-0-abc\" ", "*")) {
+            var response = get("application/json", HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus(), ifNoneMatch);
+        }
+        var response = get("application/json", HttpHeaders.IF_NONE_MATCH, "W/\"0-0-old\"",
+                HttpHeaders.IF_NONE_MATCH, "W/\"1-0-abc\"");
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+
+        for (var ifNoneMatch : List.of("W/\"0-0-old\", W/\"1-0-ab\"", "W/\"1-0-abc")) {
+            response = get("application/json", HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            assertEquals(HttpServletResponse.SC_OK, response.getStatus(), ifNoneMatch);
+        }
+        assertEquals(1, rendered);
+    }
+
+    @Test
+    public void doesNotCacheErrorsOrEvictedEntriesTest() throws Exception {
+        status = HttpServletResponse.SC_NOT_FOUND;
+        get("application/json");
+        assertNull(cacheManager.getCache(CacheConfig.PEOPLE_PAGES).get(PATH + "?after=0&size=12 application/json"));
+
+        status = HttpServletResponse.SC_OK;
+        get("application/json");
+        cacheManager.getCache(CacheConfig.PEOPLE_PAGES).clear();
+        get("application/json");
+        assertEquals(3, rendered);
+    }
+
+    @Test
+    public void honoursZeroQualityForGzipTest() throws Exception {
+        get("application/json");
+
+        assertNull(get("application/json", HttpHeaders.ACCEPT_ENCODING, "gzip;q=0").getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(get("application/json", HttpHeaders.ACCEPT_ENCODING, "*, gzip; q=0.0").getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", get("application/json", HttpHeaders.ACCEPT_ENCODING, "br;q=1, *;q=0.5").getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", get("application/json", HttpHeaders.ACCEPT_ENCODING, "GZIP;Q=0.8").getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(1, rendered);
+    }
+
+    @Test
+    public void doesNotCachePageRenderedAcrossEvictionTest() throws Exception {
+        duringRender = () -> pageCaches.evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+        var first = get("application/json");
+        assertArrayEquals(BODY, first.getContentAsByteArray());
+
+        duringRender = () -> {};
+        get("application/json");
+        get("application/json");
+        assertEquals(2, rendered);
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.erudio.unittests.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.erudio.datasource.RecentWrites;
+import br.com.erudio.datasource.ReplicaFallbackDataSource;
+import br.com.erudio.datasource.ReplicaLagMonitor;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ReplicaRoutingTest {
+
+    private static final String LAG_QUERY = "SELECT seconds FROM heartbeat";
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ResultSet lag = mock(ResultSet.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private final RecentWrites recentWrites = new RecentWrites(Duration.ofSeconds(6), now::get);
+
+    private ReplicaLagMonitor monitor;
+    private ReplicaFallbackDataSource readOnly;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        var statement = mock(Statement.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(LAG_QUERY)).thenReturn(lag);
+        when(lag.next()).thenReturn(true);
+
+        monitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5), Duration.ofSeconds(1), LAG_QUERY, registry);
+        readOnly = new ReplicaFallbackDataSource(replica, primary, monitor, recentWrites);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        monitor.close();
+    }
+
+    private double lagGauge() {
+        return registry.get("datasource.replica.lag").gauge().value();
+    }
+
+    @Test
+    public void readsFromReplicaWithinMaxLagTest() throws SQLException {
+        assertSame(primaryConnection, readOnly.getConnection());
+
+        when(lag.getObject(1)).thenReturn(3L);
+        monitor.check();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertSame(replicaConnection, readOnly.getConnection());
+        assertEquals(3.0, lagGauge());
+    }
+
+    @Test
+    public void readsFromPrimaryWhileReplicaLagsTest() throws SQLException {
+        when(lag.getObject(1)).thenReturn(3L);
+        monitor.check();
+        when(lag.getObject(1)).thenReturn(30L);
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertSame(primaryConnection, readOnly.getConnection());
+        assertEquals(30.0, lagGauge());
+
+        when(lag.getObject(1)).thenReturn(null);
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertTrue(Double.isNaN(lagGauge()));
+    }
+
+    @Test
+    public void fallsBackToPrimaryWhenReplicaIsDownTest() throws SQLException {
+        when(lag.getObject(1)).thenReturn(0L);
+        monitor.check();
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+
+        assertSame(primaryConnection, readOnly.getConnection());
+        assertFalse(monitor.isReplicaUsable());
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    public void readsRecentlyWrittenRowsFromPrimaryTest() throws SQLException {
+        when(lag.getObject(1)).thenReturn(1L);
+        monitor.check();
+        recentWrites.recordAfterCommit(Person.class, List.of(1L));
+
+        assertSame(primaryConnection, readInTransaction(() -> recentWrites.readFromPrimaryIfWritten(Person.class, 1L)));
+        assertSame(primaryConnection, readInTransaction(() -> recentWrites.readFromPrimaryIfWritten(Person.class)));
+        assertSame(replicaConnection, readInTransaction(() -> recentWrites.readFromPrimaryIfWritten(Person.class, 2L)));
+        assertSame(replicaConnection, readInTransaction(() -> recentWrites.readFromPrimaryIfWritten(Book.class, 1L)));
+        assertSame(replicaConnection, readInTransaction(() -> recentWrites.readFromPrimaryIfWritten(Book.class)));
+
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        assertSame(replicaConnection, readInTransaction(() -> recentWrites.readFromPrimaryIfWritten(Person.class, 1L)));
+        assertSame(replicaConnection, readInTransaction(() -> recentWrites.readFromPrimaryIfWritten(Person.class)));
+    }
+
+    @Test
+    public void countsTheWindowFromTheCommitTest() throws SQLException {
+        when(lag.getObject(1)).thenReturn(0L);
+        monitor.check();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            recentWrites.recordAfterCommit(Person.class, List.of(1L));
+            now.addAndGet(Duration.ofSeconds(10).toNanos());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        assertSame(primaryConnection, readInTransaction(() -> recentWrites.readFromPrimaryIfWritten(Person.class, 1L)));
+    }
+
+    /**
+     * Runs {@code route} and takes a read-only connection as the first query of a transaction
+     * would, then completes the transaction.
+     */
+    private Connection readInTransaction(Runnable route) throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            route.run();
+            return readOnly.getConnection();
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+            assertFalse(recentWrites.isPrimaryRequired());
+        }
+    }
+}
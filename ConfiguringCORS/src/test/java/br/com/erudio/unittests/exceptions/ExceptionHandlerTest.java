@@ -0,0 +1,73 @@
+package br.com.erudio.unittests.exceptions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.datasource.RecentWrites;
+import br.com.erudio.exceptions.PreconditionFailedException;
+import br.com.erudio.exceptions.RequiredObjectIsNull;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.handler.CustomizedResponseEntityExceptionHandler;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonServices;
+
+public class ExceptionHandlerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        var repository = mock(PersonRepository.class);
+        when(repository.findById(anyLong())).thenReturn(Optional.empty());
+
+        var services = new PersonServices();
+        ReflectionTestUtils.setField(services, "repository", repository);
+        ReflectionTestUtils.setField(services, "recentWrites", new RecentWrites(Duration.ZERO));
+        var controller = new PersonController();
+        ReflectionTestUtils.setField(controller, "service", services);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new CustomizedResponseEntityExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void missingIdKeepsTheResponseBodyTest() throws Exception {
+        mockMvc.perform(get("/api/person/v1/42").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("No records found for this ID!"))
+                .andExpect(jsonPath("$.details").value("uri=/api/person/v1/42"))
+                .andExpect(jsonPath("$.timestamp").exists());
+    }
+
+    @Test
+    public void businessExceptionsAreStacklessTest() {
+        assertEquals(0, ResourceNotFoundException.NO_RECORDS.getStackTrace().length);
+        assertEquals(0, new RequiredObjectIsNull("A name is required!").getStackTrace().length);
+        assertEquals("The resource was changed since it was read!", PreconditionFailedException.CHANGED.getMessage());
+
+        var shared = RequiredObjectIsNull.NULL_OBJECT;
+        shared.addSuppressed(new IllegalStateException());
+        shared.setStackTrace(new StackTraceElement[] {new StackTraceElement("A", "b", null, 1)});
+        assertEquals(0, shared.getSuppressed().length);
+        assertEquals(0, shared.getStackTrace().length);
+        assertSame(shared, RequiredObjectIsNull.NULL_OBJECT);
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.erudio.unittests.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import br.com.erudio.logging.RequestIdFilter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class RequestIdFilterTest {
+
+    private final RequestIdFilter filter = new RequestIdFilter();
+
+    private String filter(String requestId, AtomicReference<String> logged) throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/person/v1/1");
+        if (requestId != null) request.addHeader(RequestIdFilter.HEADER, requestId);
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                logged.set(MDC.get(RequestIdFilter.MDC_KEY));
+            }
+        }));
+
+        assertNull(MDC.get(RequestIdFilter.MDC_KEY));
+        return response.getHeader(RequestIdFilter.HEADER);
+    }
+
+    @Test
+    public void keepsWellFormedIncomingIdTest() throws Exception {
+        var logged = new AtomicReference<String>();
+
+        assertEquals("gateway-42.a_b", filter("gateway-42.a_b", logged));
+        assertEquals("gateway-42.a_b", logged.get());
+    }
+
+    @Test
+    public void generatesIdWhenMissingOrMalformedTest() throws Exception {
+        var logged = new AtomicReference<String>();
+
+        var generated = filter(null, logged);
+        assertTrue(generated.matches("[0-9a-f]{16}"), generated);
+        assertEquals(generated, logged.get());
+
+        var replaced = filter("forged\nINFO admin logged in", logged);
+        assertTrue(replaced.matches("[0-9a-f]{16}"), replaced);
+        assertNotEquals(generated, replaced);
+        assertTrue(filter("x".repeat(65), logged).matches("[0-9a-f]{16}"));
+    }
+}
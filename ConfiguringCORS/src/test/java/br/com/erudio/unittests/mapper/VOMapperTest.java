@@ -0,0 +1,66 @@
+package br.com.erudio.unittests.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.data.vo.v2.PersonVOV2;
+import br.com.erudio.mapper.VOMapper;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+import br.com.erudio.unittests.mapper.mocks.MockBook;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+
+public class VOMapperTest {
+
+    Mapper dozer = DozerBeanMapperBuilder.buildDefault();
+
+    MockPerson inputPerson;
+    MockBook inputBook;
+
+    @BeforeEach
+    public void setUp() {
+        inputPerson = new MockPerson();
+        inputBook = new MockBook();
+    }
+
+    @Test
+    public void personToVOMatchesDozerTest() {
+        Person entity = inputPerson.mockEntity(3);
+        assertEquals(dozer.map(entity, PersonVO.class), VOMapper.INSTANCE.toPersonVO(entity));
+    }
+
+    @Test
+    public void personVOToEntityMatchesDozerTest() {
+        PersonVO vo = inputPerson.mockVO(3);
+        assertEquals(dozer.map(vo, Person.class), VOMapper.INSTANCE.toPerson(vo));
+    }
+
+    @Test
+    public void personToVOV2MatchesDozerTest() {
+        Person entity = inputPerson.mockEntity(5);
+        PersonVOV2 output = VOMapper.INSTANCE.toPersonVOV2(entity);
+
+        assertEquals(dozer.map(entity, PersonVOV2.class), output);
+        assertEquals(Long.valueOf(5L), output.getId());
+        assertNull(output.getBirthDay());
+    }
+
+    @Test
+    public void bookToVOMatchesDozerTest() {
+        Book entity = inputBook.mockEntity(2);
+        assertEquals(dozer.map(entity, BookVO.class), VOMapper.INSTANCE.toBookVO(entity));
+    }
+
+    @Test
+    public void bookVOToEntityMatchesDozerTest() {
+        BookVO vo = inputBook.mockVO(2);
+        assertEquals(dozer.map(vo, Book.class), VOMapper.INSTANCE.toBook(vo));
+    }
+}
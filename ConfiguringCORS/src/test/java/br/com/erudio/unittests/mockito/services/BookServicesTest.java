@@ -1,11 +1,19 @@
 package br.com.erudio.unittests.mockito.services;
 
+import br.com.erudio.cache.PageCaches;
+import br.com.erudio.config.CacheConfig;
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.datasource.RecentWrites;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.RequiredObjectIsNull;
+import br.com.erudio.exceptions.ResourceNotFoundException;
 import br.com.erudio.model.Book;
 import br.com.erudio.repositories.BookRepository;
 import br.com.erudio.services.BookServices;
 import br.com.erudio.unittests.mapper.mocks.MockBook;
+import br.com.erudio.util.MediaType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -14,11 +22,25 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -33,6 +55,15 @@ public class BookServicesTest {
     @Mock
     BookRepository repository;
 
+    @Mock
+    PageCaches pageCaches;
+
+    @Mock
+    RecentWrites recentWrites;
+
+    @Mock
+    EntityManager entityManager;
+
     @BeforeEach
     void setUpMocks() throws Exception {
         input = new MockBook();
@@ -43,9 +74,9 @@ public class BookServicesTest {
     void testFindAll() {
         List<Book> list = input.mockEntityList();
 
-        when(repository.findAll()).thenReturn(list);
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(14))).thenReturn(list);
 
-        var books = services.findAll();
+        var books = services.findAll(0L, 14);
 
         assertNotNull(books);
         assertEquals(14, books.size());
@@ -87,6 +118,49 @@ public class BookServicesTest {
         assertEquals("Some Title7", bookSeven.getTitle());
     }
 
+    @Test
+    void testSearch() {
+        when(repository.searchByTitleOrAuthor("+Some* +Title1*", 0L, 12)).thenReturn(List.of(input.mockEntity(1)));
+
+        var result = services.search("Some Title1", 0L, 12);
+
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).toString().contains("links: [</api/book/v1/1>;rel=\"self\"]"));
+    }
+
+    @Test
+    void testSearchDropsFullTextOperators() {
+        services.search(" -legacy  \"code\"* ", 0L, 12);
+
+        verify(repository).searchByTitleOrAuthor("+legacy* +code*", 0L, 12);
+    }
+
+    @Test
+    void testSearchWithoutTerms() {
+        assertThrows(RequiredObjectIsNull.class, () -> services.search("+ - *", 0L, 12));
+    }
+
+    @Test
+    void testFindAllWithFields() {
+        var fields = Set.of("id", "title");
+        var tuple = mock(Tuple.class);
+        when(tuple.get("id")).thenReturn(1L);
+        when(tuple.get("title")).thenReturn("Some Title1");
+        when(tuple.get("id", Long.class)).thenReturn(1L);
+        when(tuple.get("version", Long.class)).thenReturn(0L);
+        when(repository.findPageWithFields(0L, 14, fields)).thenReturn(List.of(tuple));
+
+        var books = services.findAll(0L, 14, fields, eTag -> false);
+
+        assertEquals(1, books.size());
+        assertEquals(1L, books.get(0).getKey());
+        assertEquals("Some Title1", books.get(0).getTitle());
+        assertNull(books.get(0).getAuthor());
+        assertNull(books.get(0).getPrice());
+        assertTrue(books.get(0).toString().contains("links: [</api/book/v1/1>;rel=\"self\"]"));
+        verify(repository, times(0)).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
     @Test
     void testFindById() throws Exception {
         Book entity = input.mockEntity(1);
@@ -117,7 +191,8 @@ public class BookServicesTest {
         BookVO vo = input.mockVO(1);
         vo.setKey(1L);
 
-        when(repository.save(entity)).thenReturn(persisted);
+        // the key of the request body is ignored; the sequence assigns the id
+        when(repository.save(argThat(saved -> saved.getId() == null))).thenReturn(persisted);
 
         var result = services.create(vo);
 
@@ -146,19 +221,12 @@ public class BookServicesTest {
 
     @Test
     void testUpdate() throws Exception {
-        Book entity = input.mockEntity(1);
-        entity.setId(1L);
-
-        Book persisted = entity;
-        persisted.setId(1L);
-
         BookVO vo = input.mockVO(1);
         vo.setKey(1L);
 
-        when(repository.findById(1L)).thenReturn(Optional.of(entity));
-        when(repository.save(entity)).thenReturn(persisted);
+        when(repository.updateBook(any(Book.class), eq(3L))).thenReturn(1);
 
-        var result = services.update(vo);
+        var result = services.update(vo, 3L);
         assertNotNull(result);
         assertNotNull(result.getKey());
         assertNotNull(result.getLinks());
@@ -167,12 +235,25 @@ public class BookServicesTest {
         assertNotNull(result.getLaunchDate());
         assertEquals(25D, result.getPrice());;
         assertEquals("Some Title1", result.getTitle());
+        assertEquals(4L, result.getVersion());
+        verify(pageCaches).evictAfterCommit(CacheConfig.BOOKS, List.of(1L));
+    }
+
+    @Test
+    void testUpdateWithoutIfMatchLeavesVersionUnknown() throws Exception {
+        BookVO vo = input.mockVO(1);
+        vo.setKey(1L);
+
+        when(repository.updateBook(any(Book.class), isNull())).thenReturn(1);
+
+        assertNull(services.update(vo, null).getVersion());
+        verify(repository, times(1)).updateBook(any(Book.class), isNull());
     }
 
     @Test
     void testUpdateWithNullPerson() throws Exception {
         Exception exception = assertThrows(RequiredObjectIsNull.class, () -> {
-            services.update(null);
+            services.update(null, null);
         });
 
         String expectedMessage = "It is not allowed to persist a null object!";
@@ -182,12 +263,154 @@ public class BookServicesTest {
     }
 
     @Test
-    void testDelete() {
+    void testUpdateNotFound() throws Exception {
+        BookVO vo = input.mockVO(1);
+        vo.setKey(1L);
+
+        when(repository.updateBook(any(Book.class), isNull())).thenReturn(0);
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+            services.update(vo, null);
+        });
+
+        assertEquals("No records found for this ID!", exception.getMessage());
+    }
+
+    @Test
+    void testUpdateVersionConflict() throws Exception {
+        BookVO vo = input.mockVO(1);
+        vo.setKey(1L);
+
+        when(repository.updateBook(any(Book.class), eq(3L))).thenReturn(0);
+        when(repository.existsById(1L)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> services.update(vo, 3L));
+    }
+
+    @Test
+    void testFindByIdNotModified() throws Exception {
         Book entity = input.mockEntity(1);
-        entity.setId(1L);
+        entity.setVersion(2L);
 
         when(repository.findById(1L)).thenReturn(Optional.of(entity));
 
+        assertNull(services.findById(1L, "\"2\""::equals));
+        assertNotNull(services.findById(1L, "\"1\""::equals));
+    }
+
+    @Test
+    void testFindAllNotModified() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(14))).thenReturn(input.mockEntityList());
+
+        var eTags = new ArrayList<String>();
+        assertNotNull(services.findAll(0L, 14, Set.of(), eTag -> !eTags.add(eTag)));
+        assertNull(services.findAll(0L, 14, Set.of(), eTags::contains));
+        assertTrue(eTags.get(0).startsWith("W/\"14-"));
+    }
+
+    @Test
+    void testDelete() {
+        when(repository.deleteBookById(1L)).thenReturn(1);
+
         services.delete(1L);
+
+        verify(repository).deleteBookById(1L);
+        verify(pageCaches).evictAfterCommit(CacheConfig.BOOKS, List.of(1L));
+        verify(pageCaches).evictAfterCommit(CacheConfig.BOOKS_PAGES);
+        verify(recentWrites).recordAfterCommit(Book.class, List.of(1L));
+    }
+
+    @Test
+    void testDeleteNotFound() {
+        when(repository.deleteBookById(1L)).thenReturn(0);
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+            services.delete(1L);
+        });
+        verify(pageCaches, never()).evictAfterCommit(any());
+        verify(pageCaches, never()).evictAfterCommit(any(), any());
+
+        assertEquals("No records found for this ID!", exception.getMessage());
+    }
+
+    @Test
+    void testCreateAll() {
+        when(repository.saveAll(anyList())).thenReturn(input.mockEntityList());
+
+        var result = services.createAll(input.mockVOList());
+
+        assertEquals(14, result.size());
+        assertTrue(result.get(3).toString().contains("links: [</api/book/v1/3>;rel=\"self\"]"));
+    }
+
+    @Test
+    void testUpdateAll() {
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(input.mockEntity(1), input.mockEntity(2)));
+
+        var result = services.updateAll(List.of(input.mockVO(1), input.mockVO(2)));
+
+        assertEquals(2, result.size());
+        verify(pageCaches).evictAfterCommit(CacheConfig.BOOKS, List.of(1L, 2L));
+        verify(pageCaches).evictAfterCommit(CacheConfig.BOOKS_PAGES);
+    }
+
+    @Test
+    void testUpdateAllNotFound() {
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(input.mockEntity(1)));
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+            services.updateAll(List.of(input.mockVO(1), input.mockVO(2)));
+        });
+
+        assertEquals("No records found for this ID!", exception.getMessage());
+    }
+
+    @Test
+    void testDeleteAll() {
+        when(repository.deleteBooksByIdIn(Set.of(1L, 2L))).thenReturn(2);
+
+        services.deleteAll(List.of(1L, 2L, 2L));
+
+        verify(pageCaches).evictAfterCommit(CacheConfig.BOOKS, Set.of(1L, 2L));
+        verify(pageCaches).evictAfterCommit(CacheConfig.BOOKS_PAGES);
+    }
+
+    @Test
+    void testDeleteAllNotFound() {
+        when(repository.deleteBooksByIdIn(Set.of(1L, 2L))).thenReturn(1);
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+            services.deleteAll(List.of(1L, 2L, 2L));
+        });
+
+        assertEquals("No records found for this ID!", exception.getMessage());
+    }
+
+    @Test
+    void testExportAsNdjson() throws Exception {
+        when(repository.streamAll()).thenReturn(input.mockEntityList().stream());
+
+        var out = new ByteArrayOutputStream();
+        services.export(out, MediaType.APPLICATION_NDJSON);
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(14, lines.length);
+        assertTrue(lines[3].startsWith("{\"id\":3,"));
+        assertFalse(lines[3].contains("links"));
+        verify(entityManager, times(14)).detach(any(Book.class));
+    }
+
+    @Test
+    void testExportAsCsv() throws Exception {
+        when(repository.streamAll()).thenReturn(input.mockEntityList().stream());
+
+        var out = new ByteArrayOutputStream();
+        services.export(out, MediaType.TEXT_CSV);
+
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(15, lines.length);
+        assertEquals("id,author,launchDate,price,title", lines[0]);
+        assertTrue(lines[4].startsWith("3,"));
     }
 }
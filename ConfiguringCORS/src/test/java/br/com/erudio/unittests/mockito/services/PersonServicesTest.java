@@ -1,14 +1,29 @@
 package br.com.erudio.unittests.mockito.services;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import br.com.erudio.cache.PageCaches;
+import br.com.erudio.config.CacheConfig;
 import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.datasource.RecentWrites;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.RequiredObjectIsNull;
+import br.com.erudio.exceptions.ResourceNotFoundException;
 import br.com.erudio.model.Person;
 import br.com.erudio.repositories.PersonRepository;
 import br.com.erudio.services.PersonServices;
 import br.com.erudio.unittests.mapper.mocks.MockPerson;
+import br.com.erudio.util.MediaType;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
@@ -17,9 +32,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +53,15 @@ public class PersonServicesTest {
     @Mock
     PersonRepository repository;
 
+    @Mock
+    PageCaches pageCaches;
+
+    @Mock
+    RecentWrites recentWrites;
+
+    @Mock
+    EntityManager entityManager;
+
     @BeforeEach
     void setUpMocks() throws Exception {
         input = new MockPerson();
@@ -43,9 +72,9 @@ public class PersonServicesTest {
     void testFindAll() {
         List<Person> list = input.mockEntityList();
 
-        when(repository.findAll()).thenReturn(list);
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(14))).thenReturn(list);
 
-        var people = services.findAll();
+        var people = services.findAll(0L, 14);
 
         assertNotNull(people);
         assertEquals(14, people.size());
@@ -87,6 +116,28 @@ public class PersonServicesTest {
         assertEquals("Female", personSeven.getGender());
     }
 
+    @Test
+    void testSearch() {
+        when(repository.searchByNamePrefix("First Name Test1%", 0L, 12)).thenReturn(List.of(input.mockEntity(1)));
+
+        var result = services.search(" First Name Test1 ", 0L, 12);
+
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).toString().contains("links: [</api/person/v1/1>;rel=\"self\"]"));
+    }
+
+    @Test
+    void testSearchEscapesWildcards() {
+        services.search("50%_off", 0L, 12);
+
+        verify(repository).searchByNamePrefix("50\\%\\_off%", 0L, 12);
+    }
+
+    @Test
+    void testSearchWithoutName() {
+        assertThrows(RequiredObjectIsNull.class, () -> services.search("  ", 0L, 12));
+    }
+
     @Test
     void testFindById() throws Exception {
         Person entity = input.mockEntity(1);
@@ -116,7 +167,8 @@ public class PersonServicesTest {
         PersonVO vo = input.mockVO(1);
         vo.setKey(1L);
 
-        when(repository.save(entity)).thenReturn(persisted);
+        // the key of the request body is ignored; the sequence assigns the id
+        when(repository.save(argThat(saved -> saved.getId() == null))).thenReturn(persisted);
 
         var result = services.create(vo);
         assertNotNull(result);
@@ -146,16 +198,12 @@ public class PersonServicesTest {
         Person entity = input.mockEntity(1);
         entity.setId(1L);
 
-        Person persisted = entity;
-        persisted.setId(1L);
-
         PersonVO vo = input.mockVO(1);
         vo.setKey(1L);
 
-        when(repository.findById(1L)).thenReturn(Optional.of(entity));
-        when(repository.save(entity)).thenReturn(persisted);
+        when(repository.updatePerson(entity, 3L)).thenReturn(1);
 
-        var result = services.update(vo);
+        var result = services.update(vo, 3L);
         assertNotNull(result);
         assertNotNull(result.getKey());
         assertNotNull(result.getLinks());
@@ -164,12 +212,25 @@ public class PersonServicesTest {
         assertEquals("First Name Test1", result.getFirstName());
         assertEquals("Last Name Test1", result.getLastName());
         assertEquals("Female", result.getGender());
+        assertEquals(4L, result.getVersion());
+        verify(pageCaches).evictAfterCommit(CacheConfig.PEOPLE, List.of(1L));
+    }
+
+    @Test
+    void testUpdateWithoutIfMatchLeavesVersionUnknown() throws Exception {
+        PersonVO vo = input.mockVO(1);
+        vo.setKey(1L);
+
+        when(repository.updatePerson(any(Person.class), isNull())).thenReturn(1);
+
+        assertNull(services.update(vo, null).getVersion());
+        verify(repository, times(1)).updatePerson(any(Person.class), isNull());
     }
 
     @Test
     void testUpdateWithNullPerson() throws Exception {
         Exception exception = assertThrows(RequiredObjectIsNull.class, () -> {
-            services.update(null);
+            services.update(null, null);
         });
 
         String expectedMessage = "It is not allowed to persist a null object!";
@@ -179,12 +240,154 @@ public class PersonServicesTest {
     }
 
     @Test
-    void testDelete() {
+    void testUpdateNotFound() throws Exception {
+        PersonVO vo = input.mockVO(1);
+        vo.setKey(1L);
+
+        when(repository.updatePerson(any(Person.class), isNull())).thenReturn(0);
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+            services.update(vo, null);
+        });
+
+        assertEquals("No records found for this ID!", exception.getMessage());
+    }
+
+    @Test
+    void testUpdateVersionConflict() throws Exception {
+        PersonVO vo = input.mockVO(1);
+        vo.setKey(1L);
+
+        when(repository.updatePerson(any(Person.class), eq(3L))).thenReturn(0);
+        when(repository.existsById(1L)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> services.update(vo, 3L));
+    }
+
+    @Test
+    void testFindByIdNotModified() throws Exception {
         Person entity = input.mockEntity(1);
-        entity.setId(1L);
+        entity.setVersion(2L);
 
         when(repository.findById(1L)).thenReturn(Optional.of(entity));
 
+        assertNull(services.findById(1L, "\"2\""::equals));
+        assertNotNull(services.findById(1L, "\"1\""::equals));
+    }
+
+    @Test
+    void testFindAllNotModified() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(14))).thenReturn(input.mockEntityList());
+
+        var eTags = new ArrayList<String>();
+        assertNotNull(services.findAll(0L, 14, Set.of(), eTag -> !eTags.add(eTag)));
+        assertNull(services.findAll(0L, 14, Set.of(), eTags::contains));
+        assertTrue(eTags.get(0).startsWith("W/\"14-"));
+    }
+
+    @Test
+    void testDelete() {
+        when(repository.deletePersonById(1L)).thenReturn(1);
+
         services.delete(1L);
+
+        verify(repository).deletePersonById(1L);
+        verify(pageCaches).evictAfterCommit(CacheConfig.PEOPLE, List.of(1L));
+        verify(pageCaches).evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+        verify(recentWrites).recordAfterCommit(Person.class, List.of(1L));
+    }
+
+    @Test
+    void testDeleteNotFound() {
+        when(repository.deletePersonById(1L)).thenReturn(0);
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+            services.delete(1L);
+        });
+        verify(pageCaches, never()).evictAfterCommit(any());
+        verify(pageCaches, never()).evictAfterCommit(any(), any());
+
+        assertEquals("No records found for this ID!", exception.getMessage());
+    }
+
+    @Test
+    void testCreateAll() {
+        when(repository.saveAll(anyList())).thenReturn(input.mockEntityList());
+
+        var result = services.createAll(input.mockVOList());
+
+        assertEquals(14, result.size());
+        assertTrue(result.get(3).toString().contains("links: [</api/person/v1/3>;rel=\"self\"]"));
+    }
+
+    @Test
+    void testUpdateAll() {
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(input.mockEntity(1), input.mockEntity(2)));
+
+        var result = services.updateAll(List.of(input.mockVO(1), input.mockVO(2)));
+
+        assertEquals(2, result.size());
+        verify(pageCaches).evictAfterCommit(CacheConfig.PEOPLE, List.of(1L, 2L));
+        verify(pageCaches).evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+    }
+
+    @Test
+    void testUpdateAllNotFound() {
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(input.mockEntity(1)));
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+            services.updateAll(List.of(input.mockVO(1), input.mockVO(2)));
+        });
+
+        assertEquals("No records found for this ID!", exception.getMessage());
+    }
+
+    @Test
+    void testDeleteAll() {
+        when(repository.deletePeopleByIdIn(Set.of(1L, 2L))).thenReturn(2);
+
+        services.deleteAll(List.of(1L, 2L, 2L));
+
+        verify(pageCaches).evictAfterCommit(CacheConfig.PEOPLE, Set.of(1L, 2L));
+        verify(pageCaches).evictAfterCommit(CacheConfig.PEOPLE_PAGES);
+    }
+
+    @Test
+    void testDeleteAllNotFound() {
+        when(repository.deletePeopleByIdIn(Set.of(1L, 2L))).thenReturn(1);
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+            services.deleteAll(List.of(1L, 2L, 2L));
+        });
+
+        assertEquals("No records found for this ID!", exception.getMessage());
+    }
+
+    @Test
+    void testExportAsNdjson() throws Exception {
+        when(repository.streamAll()).thenReturn(input.mockEntityList().stream());
+
+        var out = new ByteArrayOutputStream();
+        services.export(out, MediaType.APPLICATION_NDJSON);
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(14, lines.length);
+        assertTrue(lines[3].startsWith("{\"id\":3,"));
+        assertFalse(lines[3].contains("links"));
+        verify(entityManager, times(14)).detach(any(Person.class));
+    }
+
+    @Test
+    void testExportAsCsv() throws Exception {
+        when(repository.streamAll()).thenReturn(input.mockEntityList().stream());
+
+        var out = new ByteArrayOutputStream();
+        services.export(out, MediaType.TEXT_CSV);
+
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(15, lines.length);
+        assertEquals("id,firstName,lastName,address,gender", lines[0]);
+        assertTrue(lines[4].startsWith("3,"));
     }
 }
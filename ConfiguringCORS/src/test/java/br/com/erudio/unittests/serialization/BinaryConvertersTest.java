@@ -0,0 +1,108 @@
+package br.com.erudio.unittests.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.Link;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.serialization.converter.ProtobufJackson2HttpMessageConverter;
+import br.com.erudio.unittests.mapper.mocks.MockBook;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+
+public class BinaryConvertersTest {
+
+    private static final Type PERSON_LIST = new ParameterizedTypeReference<List<PersonVO>>() {}.getType();
+    private static final Type BOOK_LIST = new ParameterizedTypeReference<List<BookVO>>() {}.getType();
+    private static final Type ID_LIST = new ParameterizedTypeReference<List<Long>>() {}.getType();
+
+    private static final MediaType CBOR = MediaType.valueOf(br.com.erudio.util.MediaType.APPLICATION_CBOR);
+    private static final MediaType SMILE = MediaType.valueOf(br.com.erudio.util.MediaType.APPLICATION_SMILE);
+    private static final MediaType PROTOBUF = MediaType.valueOf(br.com.erudio.util.MediaType.APPLICATION_PROTOBUF);
+
+    private final ProtobufJackson2HttpMessageConverter protobuf = new ProtobufJackson2HttpMessageConverter();
+
+    private static Object roundTrip(GenericHttpMessageConverter<Object> converter, MediaType mediaType,
+                                    Object body, Type type) throws Exception {
+        assertTrue(converter.canWrite(type, body.getClass(), mediaType));
+        assertTrue(converter.canRead(type, null, mediaType));
+
+        var output = new MockHttpOutputMessage();
+        converter.write(body, type, mediaType, output);
+        return converter.read(type, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+    }
+
+    private static List<PersonVO> people() {
+        var people = new MockPerson().mockVOList();
+        people.forEach(p -> p.add(Link.of("/api/person/v1/" + p.getKey())));
+        return people;
+    }
+
+    private static List<BookVO> books() {
+        var books = new MockBook().mockVOList();
+        books.forEach(b -> b.add(Link.of("/api/book/v1/" + b.getKey())));
+        return books;
+    }
+
+    @Test
+    public void cborRoundTripTest() throws Exception {
+        var converter = new MappingJackson2CborHttpMessageConverter();
+
+        assertEquals(people(), roundTrip(converter, CBOR, people(), PERSON_LIST));
+        var books = books();
+        assertEquals(books, roundTrip(converter, CBOR, books, BOOK_LIST));
+    }
+
+    @Test
+    public void smileRoundTripTest() throws Exception {
+        var converter = new MappingJackson2SmileHttpMessageConverter();
+
+        assertEquals(people(), roundTrip(converter, SMILE, people(), PERSON_LIST));
+        var books = books();
+        assertEquals(books, roundTrip(converter, SMILE, books, BOOK_LIST));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void protobufRoundTripTest() throws Exception {
+        assertEquals(people(), roundTrip(protobuf, PROTOBUF, people(), PERSON_LIST));
+        assertEquals(List.of(3L, 5L, 8L), roundTrip(protobuf, PROTOBUF, List.of(3L, 5L, 8L), ID_LIST));
+
+        var books = new MockBook().mockVOList();
+        var read = (List<BookVO>) roundTrip(protobuf, PROTOBUF, books, BOOK_LIST);
+        assertEquals(books, read);
+
+        var single = (PersonVO) roundTrip(protobuf, PROTOBUF, people().get(1), PersonVO.class);
+        assertEquals(people().get(1), single);
+        assertTrue(single.getLinks().isEmpty());
+    }
+
+    @Test
+    public void protobufSchemaIsGeneratedFromVOTest() {
+        var schema = protobuf.schemaSource(PERSON_LIST).orElseThrow();
+
+        assertTrue(schema.contains("repeated PersonVO content = 1;"));
+        assertTrue(schema.contains("message PersonVO {"));
+        assertTrue(schema.contains("optional int64 id = 1;"));
+        assertFalse(schema.contains("links"));
+    }
+
+    @Test
+    public void protobufLeavesTypesWithoutSchemaToOtherConvertersTest() {
+        assertFalse(protobuf.canWrite(String.class, String.class, PROTOBUF));
+        assertFalse(protobuf.canRead(Long.class, null, PROTOBUF));
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.erudio.unittests.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.serialization.SerializationRuntimeHints;
+import br.com.erudio.serialization.converter.ProtobufJackson2HttpMessageConverter;
+
+public class SerializationRuntimeHintsTest {
+
+    RuntimeHints hints;
+
+    @BeforeEach
+    public void setUp() {
+        hints = new RuntimeHints();
+        new SerializationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    public void registersBodiesForJacksonTest() throws Exception {
+        var reflection = RuntimeHintsPredicates.reflection();
+
+        assertTrue(reflection.onMethod(PersonVO.class.getMethod("getFirstName")).test(hints));
+        assertTrue(reflection.onMethod(BookVO.class.getMethod("setLaunchDate", java.util.Date.class)).test(hints));
+        assertTrue(reflection.onType(ProtobufJackson2HttpMessageConverter.ListMessage.class).test(hints));
+        assertTrue(reflection.onConstructor(PersonVO.Sparse.class.getConstructor()).test(hints));
+    }
+
+    @Test
+    public void registersMixInsAndXmlFactoriesTest() {
+        var reflection = RuntimeHintsPredicates.reflection();
+
+        assertTrue(reflection.onType(TypeReference.of("br.com.erudio.serialization.export.RowWriters$WithoutLinks"))
+                .withMemberCategory(MemberCategory.INTROSPECT_DECLARED_METHODS).test(hints));
+        assertTrue(reflection.onType(TypeReference.of("com.ctc.wstx.stax.WstxInputFactory"))
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+}
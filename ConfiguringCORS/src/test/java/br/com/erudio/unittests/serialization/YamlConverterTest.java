@@ -0,0 +1,78 @@
+package br.com.erudio.unittests.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.hateoas.Link;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.serialization.converter.YamlJackson2HttpMesageConverter;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+
+public class YamlConverterTest {
+
+    private static final MediaType APPLICATION_YAML = MediaType.valueOf("application/x-yaml");
+    private static final Type PERSON_LIST = new ParameterizedTypeReference<List<PersonVO>>() {}.getType();
+
+    private final MockPerson input = new MockPerson();
+
+    private List<PersonVO> people() {
+        var people = input.mockVOList();
+        people.forEach(p -> p.add(Link.of("/api/person/v1/" + p.getKey())));
+        return people;
+    }
+
+    private static String write(Object body, Type type, GenericHttpMessageConverter<Object> converter) throws Exception {
+        var output = new MockHttpOutputMessage();
+        converter.write(body, type, APPLICATION_YAML, output);
+        return output.getBodyAsString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void writesSameDocumentAsJacksonConverterTest() throws Exception {
+        var previous = new AbstractJackson2HttpMessageConverter(
+                new YAMLMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL), APPLICATION_YAML) {};
+        var converter = new YamlJackson2HttpMesageConverter().warmUp(PERSON_LIST);
+
+        assertEquals(write(people(), PERSON_LIST, previous), write(people(), PERSON_LIST, converter));
+        assertEquals(write(input.mockVO(1), PersonVO.class, previous), write(input.mockVO(1), PersonVO.class, converter));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void readsWhatItWritesTest() throws Exception {
+        var converter = new YamlJackson2HttpMesageConverter(true);
+        var document = write(people(), PERSON_LIST, converter);
+
+        var message = new MockHttpInputMessage(document.getBytes(StandardCharsets.UTF_8));
+        var people = (List<PersonVO>) converter.read(PERSON_LIST, null, message);
+
+        assertEquals(14, people.size());
+        assertEquals(people(), people);
+    }
+
+    @Test
+    public void minimizesQuotesTest() throws Exception {
+        var quoted = write(input.mockVO(1), PersonVO.class, new YamlJackson2HttpMesageConverter());
+        var minimized = write(input.mockVO(1), PersonVO.class, new YamlJackson2HttpMesageConverter(true));
+
+        assertTrue(quoted.contains("firstName: \"First Name Test1\""));
+        assertTrue(minimized.contains("firstName: First Name Test1"));
+        assertFalse(minimized.contains("\""));
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.erudio.unittests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.exceptions.PreconditionFailedException;
+import br.com.erudio.model.Person;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+import br.com.erudio.util.ETags;
+
+public class ETagsTest {
+
+    private final MockPerson input = new MockPerson();
+
+    private static String weak(List<Person> people) {
+        return ETags.weak(people, Person::getId, Person::getVersion);
+    }
+
+    @Test
+    public void strongTagIsTheQuotedVersionTest() {
+        assertEquals("\"7\"", ETags.strong(7L));
+        assertEquals(7L, ETags.version(ETags.strong(7L)));
+    }
+
+    @Test
+    public void weakTagChangesWithAnyRowOfThePageTest() {
+        var page = input.mockEntityList();
+        page.forEach(p -> p.setVersion(3L));
+        var original = weak(page);
+
+        assertEquals(original, weak(input.mockEntityList().stream().peek(p -> p.setVersion(3L)).toList()));
+
+        page.get(5).setVersion(1L);
+        assertNotEquals(original, weak(page), "an update below the highest version");
+
+        page.get(5).setVersion(3L);
+        page.get(5).setId(99L);
+        assertNotEquals(original, weak(page), "a row replaced by another with the same version");
+    }
+
+    @Test
+    public void ifMatchTest() {
+        assertNull(ETags.version(null));
+        assertNull(ETags.version("*"));
+        assertEquals(12L, ETags.version(" \"12\" "));
+        assertThrows(PreconditionFailedException.class, () -> ETags.version("W/\"12\""));
+        assertThrows(PreconditionFailedException.class, () -> ETags.version("\"abc\""));
+    }
+}
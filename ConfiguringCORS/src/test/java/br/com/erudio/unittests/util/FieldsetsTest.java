@@ -0,0 +1,77 @@
+package br.com.erudio.unittests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.exceptions.InvalidParameterException;
+import br.com.erudio.util.Fieldsets;
+import jakarta.persistence.Tuple;
+
+public class FieldsetsTest {
+
+    @Test
+    public void parseKeepsOrderAndAlwaysSelectsIdTest() {
+        assertEquals(List.of("id", "lastName", "gender"),
+                List.copyOf(Fieldsets.parse(" lastName,,gender,id ", PersonVO.class)));
+        assertTrue(Fieldsets.parse(null, PersonVO.class).isEmpty());
+        assertTrue(Fieldsets.parse(" ", PersonVO.class).isEmpty());
+    }
+
+    @Test
+    public void parseRejectsUnknownFieldsTest() {
+        var exception = assertThrows(InvalidParameterException.class,
+                () -> Fieldsets.parse("firstName,password", PersonVO.class));
+
+        assertEquals("Unknown field: password!", exception.getMessage());
+        assertThrows(InvalidParameterException.class, () -> Fieldsets.parse("links", PersonVO.class));
+    }
+
+    @Test
+    public void toVOFillsOnlySelectedFieldsTest() {
+        var tuple = mock(Tuple.class);
+        when(tuple.get("id")).thenReturn(3L);
+        when(tuple.get("firstName")).thenReturn("Ada");
+
+        var vo = Fieldsets.toVO(tuple, Set.of("id", "firstName"), PersonVO.class);
+
+        assertEquals(3L, vo.getKey());
+        assertEquals("Ada", vo.getFirstName());
+        assertNull(vo.getLastName());
+        assertNull(vo.getAddress());
+    }
+
+    @Test
+    public void onlySparseVOsLeaveOutNullFieldsTest() throws Exception {
+        var tuple = mock(Tuple.class);
+        when(tuple.get("id")).thenReturn(3L);
+        when(tuple.get("firstName")).thenReturn("Ada");
+        var sparse = Fieldsets.toVO(tuple, Set.of("id", "firstName"), PersonVO.Sparse.class);
+
+        var full = new PersonVO();
+        full.setKey(3L);
+        full.setFirstName("Ada");
+
+        var json = new ObjectMapper();
+        assertEquals("{\"id\":3,\"firstName\":\"Ada\",\"lastName\":null,\"address\":null,\"gender\":null,\"links\":[]}",
+                json.writeValueAsString(full));
+        assertEquals("{\"id\":3,\"firstName\":\"Ada\",\"links\":[]}", json.writeValueAsString(sparse));
+
+        var xml = new XmlMapper();
+        assertTrue(xml.writeValueAsString(List.of(full)).contains("<address/>"));
+        assertFalse(xml.writeValueAsString(List.of(sparse)).contains("address"));
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.erudio.unittests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.util.PhaseTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PhaseTimerTest {
+
+    private SimpleMeterRegistry registry;
+    private PhaseTimer phases;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        phases = new PhaseTimer(registry, "person");
+    }
+
+    private long count(String phase) {
+        return registry.get(PhaseTimer.METRIC_NAME)
+                .tag("resource", "person")
+                .tag("phase", phase)
+                .timer().count();
+    }
+
+    @Test
+    public void recordsEachPhaseSeparatelyTest() throws Exception {
+        assertEquals("entity", phases.repository(() -> "entity"));
+        phases.mapping(() -> "vo");
+        phases.mapping(() -> "vo");
+
+        assertEquals(1, count("repository"));
+        assertEquals(2, count("mapping"));
+        assertEquals(0, count("linking"));
+    }
+
+    @Test
+    public void recordsPhaseThatThrowsTest() {
+        assertThrows(ResourceNotFoundException.class, () -> phases.linking(() -> {
+            throw new ResourceNotFoundException("No records found for this ID!");
+        }));
+
+        assertEquals(1, count("linking"));
+    }
+}
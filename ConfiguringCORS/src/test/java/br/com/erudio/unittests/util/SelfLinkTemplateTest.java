@@ -0,0 +1,53 @@
+package br.com.erudio.unittests.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import br.com.erudio.controllers.BookController;
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.util.SelfLinkTemplate;
+
+public class SelfLinkTemplateTest {
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void matchesWebMvcLinkBuilderWithoutRequestTest() throws Exception {
+        var template = SelfLinkTemplate.of(key -> methodOn(PersonController.class).findById(key, null));
+
+        for (long id : new long[] {0L, 1L, 42L, Long.MAX_VALUE}) {
+            var expected = linkTo(methodOn(PersonController.class).findById(id, null)).withSelfRel();
+            assertEquals(expected.toString(), template.withSelfRel(id).toString());
+        }
+    }
+
+    @Test
+    public void matchesWebMvcLinkBuilderWithinRequestTest() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/book/v1");
+        request.setScheme("https");
+        request.setServerName("erudio.com.br");
+        request.setServerPort(8443);
+        request.addHeader("X-Forwarded-Prefix", "/gateway");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        var template = SelfLinkTemplate.of(key -> methodOn(BookController.class).findById(key, null));
+
+        for (long id : new long[] {1L, 7L, 123456789L}) {
+            var expected = linkTo(methodOn(BookController.class).findById(id, null)).withSelfRel();
+            var actual = template.withSelfRel(id);
+            assertEquals(expected.getHref(), actual.getHref());
+            assertEquals(expected.getRel(), actual.getRel());
+            assertEquals(expected.toString(), actual.toString());
+        }
+    }
+}
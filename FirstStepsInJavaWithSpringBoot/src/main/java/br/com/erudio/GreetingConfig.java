@@ -0,0 +1,18 @@
+package br.com.erudio;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GreetingConfig {
+
+    /**
+     * Picked up by Spring Boot ahead of the Jackson converter when {@code greeting.json-writer.enabled=true}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "greeting.json-writer.enabled", havingValue = "true")
+    public GreetingJsonConverter greetingJsonConverter() {
+        return new GreetingJsonConverter();
+    }
+}
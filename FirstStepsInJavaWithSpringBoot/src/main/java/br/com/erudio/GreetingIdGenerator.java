@@ -0,0 +1,34 @@
+package br.com.erudio;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unique greeting ids without a shared counter on every call.
+ * <p>
+ * Each thread takes a block of {@link #BLOCK_SIZE} ids from a shared counter and hands them out
+ * locally, so the shared counter is touched once per block. Ids start at 1 and are unique, but
+ * requests served by different threads no longer get them in arrival order, and the unused rest
+ * of a block is lost when its thread ends.
+ */
+public class GreetingIdGenerator {
+
+    static final int BLOCK_SIZE = 1024;
+
+    private final AtomicLong blocks = new AtomicLong();
+    private final ThreadLocal<Block> block = ThreadLocal.withInitial(Block::new);
+
+    public long nextId() {
+        var current = block.get();
+        if (current.next == current.limit) {
+            long start = blocks.getAndIncrement() * BLOCK_SIZE + 1;
+            current.next = start;
+            current.limit = start + BLOCK_SIZE;
+        }
+        return current.next++;
+    }
+
+    private static final class Block {
+        long next;
+        long limit;
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.erudio;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a {@link Greeting} as {@code {"id":1,"content":"Hello, World!"}} into a fixed JSON
+ * skeleton, instead of going through Jackson's bean serializer. The output is the same as
+ * Jackson's. It only writes; requests are never bodies of type {@code Greeting}.
+ */
+public class GreetingJsonConverter extends AbstractHttpMessageConverter<Greeting> {
+
+    private static final byte[] ID = "{\"id\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CONTENT = ",\"content\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL_CONTENT = ",\"content\":null}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    public GreetingJsonConverter() {
+        super(StandardCharsets.UTF_8, MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Greeting.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Greeting readInternal(Class<? extends Greeting> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Greeting is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Greeting greeting, HttpOutputMessage outputMessage) throws IOException {
+        var json = toJson(greeting);
+        outputMessage.getHeaders().setContentLength(json.length);
+        outputMessage.getBody().write(json);
+    }
+
+    /**
+     * The JSON document for {@code greeting}, encoded straight into one array of its exact size.
+     */
+    public static byte[] toJson(Greeting greeting) {
+        var id = Long.toString(greeting.getId());
+        var content = greeting.getContent();
+        var tail = content == null ? NULL_CONTENT : CONTENT;
+
+        var json = new byte[ID.length + id.length() + tail.length + (content == null ? 0 : encodedLength(content) + END.length)];
+        int position = copy(ID, json, 0);
+        for (int i = 0; i < id.length(); i++) json[position++] = (byte) id.charAt(i);
+        position = copy(tail, json, position);
+        if (content != null) {
+            position = encode(content, json, position);
+            copy(END, json, position);
+        }
+        return json;
+    }
+
+    private static int copy(byte[] source, byte[] json, int position) {
+        System.arraycopy(source, 0, json, position, source.length);
+        return position + source.length;
+    }
+
+    private static int encodedLength(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c == '\n' || c == '\r' || c == '\t' || c == '\b' || c == '\f') length += 2;
+            else if (c < 0x20 || Character.isSurrogate(c)) length += 6;
+            else if (c < 0x80) length += 1;
+            else if (c < 0x800) length += 2;
+            else length += 3;
+        }
+        return length;
+    }
+
+    /**
+     * UTF-8 with Jackson's escapes: the short forms, six-character {@code uXXXX} escapes for other control characters,
+     * and characters outside the BMP escaped as their surrogate pair.
+     */
+    private static int encode(String value, byte[] json, int position) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> position = escape('"', json, position);
+                case '\\' -> position = escape('\\', json, position);
+                case '\n' -> position = escape('n', json, position);
+                case '\r' -> position = escape('r', json, position);
+                case '\t' -> position = escape('t', json, position);
+                case '\b' -> position = escape('b', json, position);
+                case '\f' -> position = escape('f', json, position);
+                default -> {
+                    if (c < 0x20 || Character.isSurrogate(c)) {
+                        position = escape('u', json, position);
+                        json[position++] = HEX[c >> 12];
+                        json[position++] = HEX[(c >> 8) & 0xF];
+                        json[position++] = HEX[(c >> 4) & 0xF];
+                        json[position++] = HEX[c & 0xF];
+                    } else if (c < 0x80) {
+                        json[position++] = (byte) c;
+                    } else if (c < 0x800) {
+                        json[position++] = (byte) (0xC0 | c >> 6);
+                        json[position++] = (byte) (0x80 | c & 0x3F);
+                    } else {
+                        json[position++] = (byte) (0xE0 | c >> 12);
+                        json[position++] = (byte) (0x80 | (c >> 6) & 0x3F);
+                        json[position++] = (byte) (0x80 | c & 0x3F);
+                    }
+                }
+            }
+        }
+        return position;
+    }
+
+    private static int escape(char c, byte[] json, int position) {
+        json[position] = '\\';
+        json[position + 1] = (byte) c;
+        return position + 2;
+    }
+}
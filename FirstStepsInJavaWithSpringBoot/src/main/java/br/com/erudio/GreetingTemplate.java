@@ -0,0 +1,35 @@
+package br.com.erudio;
+
+/**
+ * A {@code String.format} template with a single {@code %s}, split once into the text around it.
+ * Rendering is then a plain concatenation, without parsing the format on every call.
+ */
+public final class GreetingTemplate {
+
+    private static final String PLACEHOLDER = "%s";
+
+    private final String prefix;
+    private final String suffix;
+
+    private GreetingTemplate(String prefix, String suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    public static GreetingTemplate compile(String template) {
+        int placeholder = template.indexOf(PLACEHOLDER);
+        var prefix = placeholder < 0 ? "" : template.substring(0, placeholder);
+        var suffix = placeholder < 0 ? "" : template.substring(placeholder + PLACEHOLDER.length());
+        if (placeholder < 0 || prefix.contains("%") || suffix.contains("%")) {
+            throw new IllegalArgumentException("Template must have exactly one %s and no other format specifier: " + template);
+        }
+        return new GreetingTemplate(prefix, suffix);
+    }
+
+    /**
+     * Same result as {@code String.format(template, name)}, {@code "null"} included.
+     */
+    public String render(String name) {
+        return prefix + name + suffix;
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.erudio;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class GreetingThroughputTests {
+
+    private static final List<String> NAMES = List.of("World", "", "Leandro", "ação", "\"quoted\" \\ \n\t\u0001\u001f", "%s", "😀");
+
+    @Test
+    void templateRendersLikeStringFormat() {
+        var template = GreetingTemplate.compile("Hello, %s!");
+        for (var name : NAMES) {
+            assertEquals(String.format("Hello, %s!", name), template.render(name), name);
+        }
+        assertEquals(String.format("Hello, %s!", (Object) null), template.render(null));
+
+        assertThrows(IllegalArgumentException.class, () -> GreetingTemplate.compile("Hello!"));
+        assertThrows(IllegalArgumentException.class, () -> GreetingTemplate.compile("%d: %s"));
+        assertThrows(IllegalArgumentException.class, () -> GreetingTemplate.compile("%s and %s"));
+    }
+
+    @Test
+    void idsAreUniqueAcrossThreads() throws Exception {
+        var generator = new GreetingIdGenerator();
+        var ids = ConcurrentHashMap.<Long>newKeySet();
+        int threads = 8;
+        int perThread = GreetingIdGenerator.BLOCK_SIZE * 3 + 7;
+
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) ids.add(generator.nextId());
+                }));
+            }
+            for (var future : futures) future.get();
+        }
+
+        assertEquals(threads * perThread, ids.size());
+        assertEquals(1L, new GreetingIdGenerator().nextId());
+    }
+
+    @Test
+    void jsonConverterWritesWhatJacksonWrites() throws Exception {
+        var mapper = new ObjectMapper();
+        for (var name : NAMES) {
+            var greeting = new Greeting(Long.MAX_VALUE, "Hello, " + name + "!");
+            assertArrayEquals(mapper.writeValueAsBytes(greeting), GreetingJsonConverter.toJson(greeting), name);
+        }
+        var empty = new Greeting(1, null);
+        assertArrayEquals(mapper.writeValueAsBytes(empty), GreetingJsonConverter.toJson(empty));
+    }
+}
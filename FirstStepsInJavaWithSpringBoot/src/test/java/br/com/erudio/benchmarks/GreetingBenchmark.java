@@ -0,0 +1,80 @@
+package br.com.erudio.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.Greeting;
+import br.com.erudio.GreetingIdGenerator;
+import br.com.erudio.GreetingJsonConverter;
+import br.com.erudio.GreetingTemplate;
+
+/**
+ * The work of one {@code /greeting} call, with one shared controller state as in the application.
+ * {@code format*} is the previous {@code AtomicLong} and {@code String.format}; {@code template*}
+ * is the block id generator and the compiled template. {@code templateJackson} and
+ * {@code templateWriter} also serialize the body, with Jackson or {@link GreetingJsonConverter}. {@code main} runs every benchmark at 1 to
+ * 64 threads; on a machine with fewer cores the higher counts only show oversubscription.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GreetingBenchmark {
+
+    static final String TEMPLATE = "Hello, %s!";
+    static final String NAME = "World";
+
+    final AtomicLong counter = new AtomicLong();
+    final GreetingTemplate template = GreetingTemplate.compile(TEMPLATE);
+    final GreetingIdGenerator ids = new GreetingIdGenerator();
+
+    final ObjectMapper mapper = new ObjectMapper();
+
+    @Benchmark
+    public Greeting format() {
+        return new Greeting(counter.incrementAndGet(), String.format(TEMPLATE, NAME));
+    }
+
+    @Benchmark
+    public Greeting template() {
+        return new Greeting(ids.nextId(), template.render(NAME));
+    }
+
+    @Benchmark
+    public byte[] templateJackson() throws Exception {
+        return mapper.writeValueAsBytes(template());
+    }
+
+    @Benchmark
+    public byte[] templateWriter() {
+        return GreetingJsonConverter.toJson(template());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] {1, 2, 4, 8, 16, 32, 64}) {
+            new Runner(new OptionsBuilder()
+                    .include(GreetingBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build()).run();
+        }
+    }
+}
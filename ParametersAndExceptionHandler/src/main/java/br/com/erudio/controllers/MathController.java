@@ -2,56 +2,59 @@ package br.com.erudio.controllers;
 
 import br.com.erudio.converters.NumberConverter;
 import br.com.erudio.exceptions.UnsupportedMathOperationException;
+import br.com.erudio.math.MathBatch;
 import br.com.erudio.math.SimpleMath;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 
 @RestController
 public class MathController {
 
     private SimpleMath math = new SimpleMath();
+    private MathBatch batch = new MathBatch();
 
     @RequestMapping(value = "/sum/{numberOne}/{numberTwo}", method=RequestMethod.GET)
     public Double sum(@PathVariable(value = "numberOne") String numberOne, @PathVariable(value = "numberTwo") String numberTwo) throws Exception {
-        if(!NumberConverter.isNumeric(numberOne) || !NumberConverter.isNumeric(numberTwo)) {
-            throw new UnsupportedMathOperationException("Please set a numeric value!");
-        }
-        return math.sum(NumberConverter.convertToDouble(numberOne), NumberConverter.convertToDouble(numberTwo));
+        return math.sum(operand(numberOne), operand(numberTwo));
     }
 
     @RequestMapping(value = "/sub/{numberOne}/{numberTwo}", method=RequestMethod.GET)
     public Double sub(@PathVariable(value = "numberOne") String numberOne, @PathVariable(value = "numberTwo") String numberTwo) throws Exception {
-        if(!NumberConverter.isNumeric(numberOne) || !NumberConverter.isNumeric(numberTwo)) {
-            throw new UnsupportedMathOperationException("Please set a numeric value!");
-        }
-        return math.sub(NumberConverter.convertToDouble(numberOne), NumberConverter.convertToDouble(numberTwo));
+        return math.sub(operand(numberOne), operand(numberTwo));
     }
 
     @RequestMapping(value = "/mult/{numberOne}/{numberTwo}", method=RequestMethod.GET)
     public Double mult(@PathVariable(value = "numberOne") String numberOne, @PathVariable(value = "numberTwo") String numberTwo) throws Exception {
-        if(!NumberConverter.isNumeric(numberOne) || !NumberConverter.isNumeric(numberTwo)) {
-            throw new UnsupportedMathOperationException("Please set a numeric value!");
-        }
-        return math.mult(NumberConverter.convertToDouble(numberOne), NumberConverter.convertToDouble(numberTwo));
+        return math.mult(operand(numberOne), operand(numberTwo));
     }
 
     @RequestMapping(value = "/div/{numberOne}/{numberTwo}", method=RequestMethod.GET)
     public Double div(@PathVariable(value = "numberOne") String numberOne, @PathVariable(value = "numberTwo") String numberTwo) throws Exception {
-        if(!NumberConverter.isNumeric(numberOne) || !NumberConverter.isNumeric(numberTwo)) {
-            throw new UnsupportedMathOperationException("Please set a numeric value!");
-        }
-        return math.div(NumberConverter.convertToDouble(numberOne), NumberConverter.convertToDouble(numberTwo));
+        return math.div(operand(numberOne), operand(numberTwo));
     }
 
     @RequestMapping(value = "/sqrt/{numberOne}", method=RequestMethod.GET)
     public Double sqrt(@PathVariable(value = "numberOne") String numberOne) throws Exception {
-        if(!NumberConverter.isNumeric(numberOne)) {
+        return math.sqrt(operand(numberOne));
+    }
+
+    @RequestMapping(value = "/math/batch", method=RequestMethod.POST)
+    public List<MathBatch.Result> batch(@RequestBody List<MathBatch.Item> items) {
+        return batch.evaluate(items);
+    }
+
+    private static double operand(String number) {
+        double value = NumberConverter.parse(number);
+        if (Double.isNaN(value)) {
             throw new UnsupportedMathOperationException("Please set a numeric value!");
         }
-        return math.sqrt(NumberConverter.convertToDouble(numberOne));
+        return value;
     }
 
 }
@@ -1,18 +1,78 @@
 package br.com.erudio.converters;
 
+/**
+ * Parses the path operands of the math endpoints.
+ * <p>
+ * Accepted numbers are an optional sign, digits and at most one decimal separator, which may be
+ * {@code .} or {@code ,}, followed by at least one digit ({@code 12}, {@code -0,5}, {@code .25}).
+ * {@link #parse(String)} validates and converts in a single pass over the characters, without
+ * regular expressions or intermediate strings.
+ */
 public class NumberConverter {
 
+    /** Largest integer every smaller one of which is exactly representable as a double. */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /** Powers of ten that are exact doubles. */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
     public static Double convertToDouble(String strNumber) {
-        if(strNumber == null) return 0D;
-        String number = strNumber.replaceAll(",", ".");
-        if(isNumeric(number)) return Double.parseDouble(number);
-        return 0D;
+        double number = parse(strNumber);
+        return Double.isNaN(number) ? 0D : number;
     }
 
     public static boolean isNumeric(String strNumber) {
-        if(strNumber == null) return false;
-        String number = strNumber.replaceAll(",", ".");
-        return number.matches("[-+]?[0-9]*\\.?[0-9]+");
+        return !Double.isNaN(parse(strNumber));
+    }
+
+    /**
+     * The value of {@code strNumber}, or {@code NaN} when it is not a number in the accepted format.
+     * <p>
+     * Up to 15 significant digits and 22 decimals the digits are accumulated into an exact long and
+     * divided once by an exact power of ten, which gives the correctly rounded double. Longer inputs
+     * fall back to {@link Double#parseDouble(String)}.
+     */
+    public static double parse(String strNumber) {
+        if (strNumber == null) return Double.NaN;
+
+        int length = strNumber.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (strNumber.charAt(0) == '-' || strNumber.charAt(0) == '+')) {
+            negative = strNumber.charAt(0) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int integerDigits = 0;
+        int fractionDigits = 0;
+        boolean separator = false;
+        boolean exact = true;
+        for (; i < length; i++) {
+            char c = strNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (separator) fractionDigits++;
+                else integerDigits++;
+                if (exact) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    exact = mantissa <= MAX_EXACT_MANTISSA;
+                }
+            } else if ((c == '.' || c == ',') && !separator) {
+                separator = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (separator ? fractionDigits == 0 : integerDigits == 0) return Double.NaN;
+
+        if (!exact || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(strNumber.replace(',', '.'));
+        }
+        double number = fractionDigits == 0 ? mantissa : mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -number : number;
     }
 
 }
@@ -0,0 +1,227 @@
+package br.com.erudio.math;
+
+import br.com.erudio.converters.NumberConverter;
+import br.com.erudio.exceptions.UnsupportedMathOperationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Arithmetic expression compiled once into a tree of {@link SimpleMath} calls and evaluated
+ * against any set of variables.
+ * <p>
+ * Grammar: numbers with a {@code .} decimal separator, variables, {@code + - * /} with the usual
+ * precedence, unary minus, parentheses, and the functions {@code sum(a, b)}, {@code sub(a, b)},
+ * {@code mult(a, b)}, {@code div(a, b)} and {@code sqrt(a)}. For example
+ * {@code sqrt(x * x + y * y) / 2}.
+ * <p>
+ * Sources longer than {@link #MAX_LENGTH} characters or nested deeper than {@link #MAX_DEPTH}
+ * levels of parentheses, function calls and unary signs are rejected when compiling. Chains of
+ * operators of the same precedence are evaluated in a loop rather than as nested calls, so the
+ * stack used by compiling and evaluating is bounded by the nesting alone.
+ */
+public final class Expression {
+
+    public static final int MAX_LENGTH = 10_000;
+    public static final int MAX_DEPTH = 64;
+
+    private static final SimpleMath MATH = new SimpleMath();
+
+    private final String source;
+    private final Node root;
+
+    private Expression(String source, Node root) {
+        this.source = source;
+        this.root = root;
+    }
+
+    public static Expression compile(String source) {
+        if (source == null || source.isBlank()) throw new UnsupportedMathOperationException("Please set an expression!");
+        if (source.length() > MAX_LENGTH) {
+            throw new UnsupportedMathOperationException("An expression can have at most " + MAX_LENGTH + " characters!");
+        }
+        var parser = new Parser(source);
+        var root = parser.expression();
+        parser.skipSpaces();
+        if (!parser.atEnd()) throw parser.error("Unexpected '" + parser.peek() + "'");
+        return new Expression(source, root);
+    }
+
+    public double evaluate(Map<String, Double> variables) {
+        return root.evaluate(variables == null ? Map.of() : variables);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    @FunctionalInterface
+    private interface Node {
+        double evaluate(Map<String, Double> variables);
+    }
+
+    /**
+     * Recursive-descent parser building the {@link Node} tree.
+     */
+    private static final class Parser {
+
+        private final String source;
+        private int position;
+        private int depth;
+
+        Parser(String source) {
+            this.source = source;
+        }
+
+        // expression := term (('+' | '-') term)*
+        Node expression() {
+            var operands = new ArrayList<Node>();
+            var operators = new ArrayList<DoubleBinaryOperator>();
+            operands.add(term());
+            while (true) {
+                if (accept('+')) operators.add(MATH::sum);
+                else if (accept('-')) operators.add(MATH::sub);
+                else return chain(operands, operators);
+                operands.add(term());
+            }
+        }
+
+        // term := factor (('*' | '/') factor)*
+        Node term() {
+            var operands = new ArrayList<Node>();
+            var operators = new ArrayList<DoubleBinaryOperator>();
+            operands.add(factor());
+            while (true) {
+                if (accept('*')) operators.add(MATH::mult);
+                else if (accept('/')) operators.add(MATH::div);
+                else return chain(operands, operators);
+                operands.add(factor());
+            }
+        }
+
+        /**
+         * Left-associative chain: {@code operators[i]} combines the value so far with
+         * {@code operands[i + 1]}.
+         */
+        private static Node chain(List<Node> operands, List<DoubleBinaryOperator> operators) {
+            var first = operands.get(0);
+            if (operators.isEmpty()) return first;
+
+            var rest = operands.subList(1, operands.size()).toArray(Node[]::new);
+            var steps = operators.toArray(DoubleBinaryOperator[]::new);
+            return variables -> {
+                double value = first.evaluate(variables);
+                for (int i = 0; i < steps.length; i++) {
+                    value = steps[i].applyAsDouble(value, rest[i].evaluate(variables));
+                }
+                return value;
+            };
+        }
+
+        // factor := ('-' | '+') factor | number | name | name '(' arguments ')' | '(' expression ')'
+        Node factor() {
+            if (++depth > MAX_DEPTH) throw error("Expression nested deeper than " + MAX_DEPTH + " levels");
+            try {
+                return nestedFactor();
+            } finally {
+                depth--;
+            }
+        }
+
+        private Node nestedFactor() {
+            if (accept('-')) {
+                var operand = factor();
+                return variables -> -operand.evaluate(variables);
+            }
+            if (accept('+')) return factor();
+            if (accept('(')) {
+                var node = expression();
+                expect(')');
+                return node;
+            }
+
+            skipSpaces();
+            if (atEnd()) throw error("Unexpected end of expression");
+            char c = peek();
+            if (Character.isDigit(c) || c == '.') return number();
+            if (Character.isLetter(c) || c == '_') {
+                var name = name();
+                return accept('(') ? function(name) : variable(name);
+            }
+            throw error("Unexpected '" + c + "'");
+        }
+
+        private Node number() {
+            int start = position;
+            while (!atEnd() && (Character.isDigit(peek()) || peek() == '.')) position++;
+            var text = source.substring(start, position);
+            double value = NumberConverter.parse(text);
+            if (Double.isNaN(value)) throw error("Invalid number '" + text + "'");
+            return variables -> value;
+        }
+
+        private String name() {
+            int start = position;
+            while (!atEnd() && (Character.isLetterOrDigit(peek()) || peek() == '_')) position++;
+            return source.substring(start, position);
+        }
+
+        private Node variable(String name) {
+            return variables -> {
+                var value = variables.get(name);
+                if (value == null) throw new UnsupportedMathOperationException("Unknown variable '" + name + "'!");
+                return value;
+            };
+        }
+
+        private Node function(String name) {
+            var first = expression();
+            if ("sqrt".equals(name)) {
+                expect(')');
+                return variables -> MATH.sqrt(first.evaluate(variables));
+            }
+            expect(',');
+            var second = expression();
+            expect(')');
+            return switch (name) {
+                case "sum" -> variables -> MATH.sum(first.evaluate(variables), second.evaluate(variables));
+                case "sub" -> variables -> MATH.sub(first.evaluate(variables), second.evaluate(variables));
+                case "mult" -> variables -> MATH.mult(first.evaluate(variables), second.evaluate(variables));
+                case "div" -> variables -> MATH.div(first.evaluate(variables), second.evaluate(variables));
+                default -> throw error("Unknown function '" + name + "'");
+            };
+        }
+
+        void skipSpaces() {
+            while (!atEnd() && Character.isWhitespace(peek())) position++;
+        }
+
+        boolean atEnd() {
+            return position >= source.length();
+        }
+
+        char peek() {
+            return source.charAt(position);
+        }
+
+        private boolean accept(char expected) {
+            skipSpaces();
+            if (!atEnd() && peek() == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            if (!accept(expected)) throw error("Expected '" + expected + "'");
+        }
+
+        UnsupportedMathOperationException error(String message) {
+            return new UnsupportedMathOperationException(message + " at position " + position + " of '" + source + "'!");
+        }
+    }
+}
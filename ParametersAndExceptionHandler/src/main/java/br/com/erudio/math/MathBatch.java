@@ -0,0 +1,90 @@
+package br.com.erudio.math;
+
+import br.com.erudio.converters.NumberConverter;
+import br.com.erudio.exceptions.UnsupportedMathOperationException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates many operations or expressions in one call.
+ * <p>
+ * Each item is either an {@code operation} ({@code sum}, {@code sub}, {@code mult}, {@code div},
+ * {@code sqrt}) with its {@code operands}, or an {@link Expression} with optional {@code variables}.
+ * Every distinct expression is compiled once per batch. Batches of at least
+ * {@link #PARALLEL_THRESHOLD} items are evaluated on the common fork/join pool. Results keep the
+ * order of the items, and an invalid item gets an {@code error} instead of failing the batch.
+ */
+public class MathBatch {
+
+    public static final int MAX_ITEMS = 100_000;
+    static final int PARALLEL_THRESHOLD = 2_048;
+
+    private final SimpleMath math = new SimpleMath();
+
+    public List<Result> evaluate(List<Item> items) {
+        if (items == null || items.isEmpty()) return List.of();
+        if (items.size() > MAX_ITEMS) {
+            throw new UnsupportedMathOperationException("A batch can have at most " + MAX_ITEMS + " items!");
+        }
+
+        var compiled = new ConcurrentHashMap<String, Expression>();
+        var results = new Result[items.size()];
+        var indexes = IntStream.range(0, results.length);
+        if (results.length >= PARALLEL_THRESHOLD) indexes = indexes.parallel();
+        indexes.forEach(i -> results[i] = evaluate(items.get(i), compiled));
+        return Arrays.asList(results);
+    }
+
+    private Result evaluate(Item item, Map<String, Expression> compiled) {
+        try {
+            if (item == null) throw new UnsupportedMathOperationException("Please set an operation or an expression!");
+            if (item.expression() != null) {
+                return Result.of(compiled.computeIfAbsent(item.expression(), Expression::compile).evaluate(item.variables()));
+            }
+            return Result.of(operation(item.operation(), item.operands()));
+        } catch (UnsupportedMathOperationException e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    private double operation(String operation, List<String> operands) {
+        if (operation == null) throw new UnsupportedMathOperationException("Please set an operation or an expression!");
+        return switch (operation) {
+            case "sum" -> math.sum(operand(operands, 0, 2), operand(operands, 1, 2));
+            case "sub" -> math.sub(operand(operands, 0, 2), operand(operands, 1, 2));
+            case "mult" -> math.mult(operand(operands, 0, 2), operand(operands, 1, 2));
+            case "div" -> math.div(operand(operands, 0, 2), operand(operands, 1, 2));
+            case "sqrt" -> math.sqrt(operand(operands, 0, 1));
+            default -> throw new UnsupportedMathOperationException("Unknown operation '" + operation + "'!");
+        };
+    }
+
+    private static double operand(List<String> operands, int index, int expected) {
+        if (operands == null || operands.size() != expected) {
+            throw new UnsupportedMathOperationException("Please set " + expected + " operand(s)!");
+        }
+        double value = NumberConverter.parse(operands.get(index));
+        if (Double.isNaN(value)) throw new UnsupportedMathOperationException("Please set a numeric value!");
+        return value;
+    }
+
+    public record Item(String operation, List<String> operands, String expression, Map<String, Double> variables) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Result(Double result, String error) {
+
+        static Result of(double result) {
+            return new Result(result, null);
+        }
+
+        static Result error(String error) {
+            return new Result(null, error);
+        }
+    }
+}
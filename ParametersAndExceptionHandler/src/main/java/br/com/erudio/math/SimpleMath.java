@@ -1,23 +1,23 @@
 package br.com.erudio.math;
 
 public class SimpleMath {
-    public Double sum(Double numberOne, Double numberTwo) {
+    public double sum(double numberOne, double numberTwo) {
         return numberOne + numberTwo;
     }
 
-    public Double sub(Double numberOne, Double numberTwo) {
+    public double sub(double numberOne, double numberTwo) {
         return numberOne - numberTwo;
     }
 
-    public Double mult(Double numberOne, Double numberTwo) {
+    public double mult(double numberOne, double numberTwo) {
         return numberOne * numberTwo;
     }
 
-    public Double div(Double numberOne, Double numberTwo) {
+    public double div(double numberOne, double numberTwo) {
         return numberOne / numberTwo;
     }
 
-    public Double sqrt(Double number) {
+    public double sqrt(double number) {
         return Math.sqrt(number);
     }
 }
@@ -0,0 +1,99 @@
+package br.com.erudio.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import br.com.erudio.converters.NumberConverter;
+import br.com.erudio.math.SimpleMath;
+
+/**
+ * The operand handling of one {@code /sum/{numberOne}/{numberTwo}} request: validate, convert
+ * and add. {@code regex} is the previous converter with the boxed {@code SimpleMath}; run with
+ * the GC profiler ({@code main} adds it) to see the allocation rate next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberConverterBenchmark {
+
+    @Param({"42/17", "3,14159/-2.71828", "123456.789/0,001"})
+    String operands;
+
+    String numberOne;
+    String numberTwo;
+
+    final SimpleMath math = new SimpleMath();
+    final PreviousSimpleMath previousMath = new PreviousSimpleMath();
+
+    @Setup
+    public void setUp() {
+        var parts = operands.split("/");
+        numberOne = parts[0];
+        numberTwo = parts[1];
+    }
+
+    @Benchmark
+    public Double regex() {
+        if (!PreviousNumberConverter.isNumeric(numberOne) || !PreviousNumberConverter.isNumeric(numberTwo)) {
+            throw new IllegalArgumentException();
+        }
+        return previousMath.sum(PreviousNumberConverter.convertToDouble(numberOne),
+                PreviousNumberConverter.convertToDouble(numberTwo));
+    }
+
+    @Benchmark
+    public double singlePass() {
+        double one = NumberConverter.parse(numberOne);
+        double two = NumberConverter.parse(numberTwo);
+        if (Double.isNaN(one) || Double.isNaN(two)) throw new IllegalArgumentException();
+        return math.sum(one, two);
+    }
+
+    static class PreviousNumberConverter {
+
+        static Double convertToDouble(String strNumber) {
+            if (strNumber == null) return 0D;
+            String number = strNumber.replaceAll(",", ".");
+            if (isNumeric(number)) return Double.parseDouble(number);
+            return 0D;
+        }
+
+        static boolean isNumeric(String strNumber) {
+            if (strNumber == null) return false;
+            String number = strNumber.replaceAll(",", ".");
+            return number.matches("[-+]?[0-9]*\\.?[0-9]+");
+        }
+    }
+
+    static class PreviousSimpleMath {
+
+        Double sum(Double numberOne, Double numberTwo) {
+            return numberOne + numberTwo;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NumberConverterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
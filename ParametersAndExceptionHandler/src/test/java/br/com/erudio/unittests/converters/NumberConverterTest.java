@@ -0,0 +1,52 @@
+package br.com.erudio.unittests.converters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.converters.NumberConverter;
+
+public class NumberConverterTest {
+
+    private static final String PREVIOUS_FORMAT = "[-+]?[0-9]*\\.?[0-9]+";
+
+    @Test
+    public void acceptsTheSameInputsAsThePreviousRegexTest() {
+        var inputs = List.of("0", "42", "-7", "+7", "3.5", "3,5", ".5", ",5", "-.5", "007", "1.000",
+                "", "-", "+", ".", "5.", "1.2.3", "1,2.3", "1e5", "NaN", "Infinity", " 1", "1 ", "0x10",
+                "--1", "+-1", "١٢");
+        for (var input : inputs) {
+            assertEquals(input.replace(',', '.').matches(PREVIOUS_FORMAT), NumberConverter.isNumeric(input), input);
+        }
+        assertFalse(NumberConverter.isNumeric(null));
+    }
+
+    @Test
+    public void convertsLikeDoubleParseDoubleTest() {
+        var inputs = List.of("0", "-0", "42", "3,14159", "-2.71828", "0.1", "0,3", "123456.789",
+                "9007199254740993", "0.000000000000000000000000123", "12345678901234567890.5");
+        for (var input : inputs) {
+            assertEquals(Double.parseDouble(input.replace(',', '.')), NumberConverter.parse(input), input);
+        }
+
+        var random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            var input = Long.toString(random.nextLong(-1_000_000_000_000L, 1_000_000_000_000L))
+                    + "." + random.nextInt(0, 1_000_000);
+            assertEquals(Double.parseDouble(input), NumberConverter.parse(input.replace('.', ',')), input);
+        }
+    }
+
+    @Test
+    public void keepsPreviousDefaultsTest() {
+        assertEquals(0D, NumberConverter.convertToDouble(null));
+        assertEquals(0D, NumberConverter.convertToDouble("abc"));
+        assertEquals(1.5D, NumberConverter.convertToDouble("1,5"));
+        assertTrue(Double.isNaN(NumberConverter.parse("1,")));
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.erudio.unittests.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.exceptions.UnsupportedMathOperationException;
+import br.com.erudio.math.Expression;
+
+public class ExpressionTest {
+
+    @Test
+    public void evaluatesWithPrecedenceAndParenthesesTest() {
+        assertEquals(7D, Expression.compile("1 + 2 * 3").evaluate(null));
+        assertEquals(9D, Expression.compile("(1 + 2) * 3").evaluate(null));
+        assertEquals(-1.5D, Expression.compile("-(3 - 1.5) / 1").evaluate(null));
+        assertEquals(2D, Expression.compile("8 / 2 / 2").evaluate(null));
+        assertEquals(5D, Expression.compile("sqrt(sum(9, 16))").evaluate(null));
+        assertEquals(6D, Expression.compile("mult(div(12, 4), sub(3, 1))").evaluate(null));
+    }
+
+    @Test
+    public void compiledExpressionIsReusedWithOtherVariablesTest() {
+        var hypotenuse = Expression.compile("sqrt(x * x + y * y)");
+
+        assertEquals(5D, hypotenuse.evaluate(Map.of("x", 3D, "y", 4D)));
+        assertEquals(13D, hypotenuse.evaluate(Map.of("x", 5D, "y", 12D)));
+
+        var e = assertThrows(UnsupportedMathOperationException.class, () -> hypotenuse.evaluate(Map.of("x", 1D)));
+        assertEquals("Unknown variable 'y'!", e.getMessage());
+    }
+
+    @Test
+    public void rejectsInvalidExpressionsTest() {
+        for (var source : List.of("", "1 +", "(1 + 2", "1 2", "pow(2, 3)", "sqrt(1, 2)", "1..2", "2 * # 3")) {
+            assertThrows(UnsupportedMathOperationException.class, () -> Expression.compile(source), source);
+        }
+        var e = assertThrows(UnsupportedMathOperationException.class, () -> Expression.compile("1 + )"));
+        assertTrue(e.getMessage().contains("position"), e.getMessage());
+    }
+
+    @Test
+    public void evaluatesLongChainsWithoutNestingTest() {
+        var terms = (Expression.MAX_LENGTH - 1) / 2;
+        assertEquals(terms + 1D, Expression.compile("1" + "+1".repeat(terms)).evaluate(null));
+        assertEquals(1D, Expression.compile("2" + "*1".repeat(terms - 1) + "/2").evaluate(null));
+        assertEquals(-2D, Expression.compile("1 - 2 - 1").evaluate(null));
+    }
+
+    @Test
+    public void rejectsTooLongOrTooDeepExpressionsTest() {
+        var tooLong = assertThrows(UnsupportedMathOperationException.class,
+                () -> Expression.compile("1" + "+1".repeat(Expression.MAX_LENGTH)));
+        assertEquals("An expression can have at most " + Expression.MAX_LENGTH + " characters!", tooLong.getMessage());
+
+        var depth = Expression.MAX_DEPTH;
+        assertEquals(1D, Expression.compile("(".repeat(depth - 1) + "1" + ")".repeat(depth - 1)).evaluate(null));
+        for (var source : List.of("(".repeat(depth) + "1" + ")".repeat(depth), "-".repeat(depth) + "1",
+                "sqrt(".repeat(depth) + "1" + ")".repeat(depth), "(".repeat(Expression.MAX_LENGTH))) {
+            var e = assertThrows(UnsupportedMathOperationException.class, () -> Expression.compile(source));
+            assertTrue(e.getMessage().startsWith("Expression nested deeper than " + depth + " levels"), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.erudio.unittests.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.exceptions.UnsupportedMathOperationException;
+import br.com.erudio.math.Expression;
+import br.com.erudio.math.MathBatch;
+import br.com.erudio.math.MathBatch.Item;
+import br.com.erudio.math.MathBatch.Result;
+
+public class MathBatchTest {
+
+    private final MathBatch batch = new MathBatch();
+
+    private static Item operation(String operation, String... operands) {
+        return new Item(operation, List.of(operands), null, null);
+    }
+
+    private static Item expression(String expression, Map<String, Double> variables) {
+        return new Item(null, null, expression, variables);
+    }
+
+    @Test
+    public void reportsErrorsPerItemTest() {
+        var results = batch.evaluate(List.of(
+                operation("sum", "1,5", "2"),
+                operation("sqrt", "abc"),
+                expression("a * (b - 1)", Map.of("a", 2D, "b", 4D)),
+                operation("pow", "2", "3"),
+                expression("a +", null),
+                operation("sub", "1")));
+
+        assertEquals(new Result(3.5D, null), results.get(0));
+        assertEquals(new Result(null, "Please set a numeric value!"), results.get(1));
+        assertEquals(new Result(6D, null), results.get(2));
+        assertEquals(new Result(null, "Unknown operation 'pow'!"), results.get(3));
+        assertNull(results.get(4).result());
+        assertEquals(new Result(null, "Please set 2 operand(s)!"), results.get(5));
+    }
+
+    @Test
+    public void keepsOrderOfLargeParallelBatchesTest() {
+        var items = IntStream.range(0, 20_000)
+                .mapToObj(i -> i % 3 == 0
+                        ? expression("x * 2 + 1", Map.of("x", (double) i))
+                        : i % 1000 == 1 ? operation("div", "x", "1") : operation("sum", Integer.toString(i), "1"))
+                .toList();
+
+        var results = batch.evaluate(items);
+
+        assertEquals(items.size(), results.size());
+        for (int i = 0; i < items.size(); i++) {
+            var expected = i % 3 == 0 ? new Result(i * 2D + 1, null)
+                    : i % 1000 == 1 ? new Result(null, "Please set a numeric value!") : new Result(i + 1D, null);
+            assertEquals(expected, results.get(i), "item " + i);
+        }
+    }
+
+    @Test
+    public void rejectsOversizedBatchesTest() {
+        var items = Collections.nCopies(MathBatch.MAX_ITEMS + 1, operation("sqrt", "4"));
+        assertThrows(UnsupportedMathOperationException.class, () -> batch.evaluate(items));
+        assertEquals(List.of(), batch.evaluate(List.of()));
+    }
+
+    @Test
+    public void reportsOversizedExpressionsPerItemTest() {
+        var results = batch.evaluate(List.of(
+                expression("1" + "+1".repeat(200_000), null),
+                expression("(".repeat(100_000) + "1" + ")".repeat(100_000), null),
+                expression("(".repeat(1_000) + "1" + ")".repeat(1_000), null),
+                operation("sum", "1", "2")));
+
+        assertEquals(new Result(null, "An expression can have at most " + Expression.MAX_LENGTH + " characters!"),
+                results.get(0));
+        assertNull(results.get(1).result());
+        assertNull(results.get(2).result());
+        assertTrue(results.get(2).error().startsWith("Expression nested deeper than"), results.get(2).error());
+        assertEquals(new Result(3D, null), results.get(3));
+    }
+}
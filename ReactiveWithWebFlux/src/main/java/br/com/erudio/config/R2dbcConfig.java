@@ -0,0 +1,27 @@
+package br.com.erudio.config;
+
+import br.com.erudio.repositories.PooledSequence;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+@Configuration
+public class R2dbcConfig {
+
+    /**
+     * The {@code allocationSize} of the sequence generators on the ConfiguringCORS entities.
+     */
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Bean
+    public PooledSequence personIds(DatabaseClient client, TransactionalOperator transactions) {
+        return new PooledSequence(client, transactions, "person_seq", ALLOCATION_SIZE);
+    }
+
+    @Bean
+    public PooledSequence bookIds(DatabaseClient client, TransactionalOperator transactions) {
+        return new PooledSequence(client, transactions, "books_seq", ALLOCATION_SIZE);
+    }
+
+}
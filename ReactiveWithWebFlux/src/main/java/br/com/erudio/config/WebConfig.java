@@ -0,0 +1,75 @@
+package br.com.erudio.config;
+
+import br.com.erudio.serialization.codec.HalJackson2JsonEncoder;
+import br.com.erudio.serialization.codec.Jackson2DocumentDecoder;
+import br.com.erudio.serialization.codec.Jackson2DocumentEncoder;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolverBuilder;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+@Configuration
+public class WebConfig implements WebFluxConfigurer {
+
+    private static final MediaType MEDIA_TYPE_APPLICATION_YAML = MediaType.valueOf("application/x-yaml");
+
+    @Value("${cors.originPatterns:default}")
+    private String corsOriginPatterns = "";
+
+    @Value("${yaml.minimize-quotes:false}")
+    private boolean yamlMinimizeQuotes;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder jacksonBuilder;
+
+    /**
+     * WebFlux only ships JSON codecs for Jackson, so XML and YAML are added with the mappers the
+     * servlet converters of ConfiguringCORS use, to keep the documents the same. Spring Boot only
+     * makes HAL the default JSON for servlet apps, so the JSON encoder does it here.
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.defaultCodecs().jackson2JsonEncoder(new HalJackson2JsonEncoder(jacksonBuilder.build()));
+
+        var xmlMapper = jacksonBuilder.createXmlMapper(true).build();
+        configurer.customCodecs().register(new Jackson2DocumentEncoder(xmlMapper, MediaType.APPLICATION_XML));
+        configurer.customCodecs().register(new Jackson2DocumentDecoder(xmlMapper, MediaType.APPLICATION_XML));
+
+        var yamlMapper = new YAMLMapper(YAMLFactory.builder()
+                .configure(YAMLGenerator.Feature.MINIMIZE_QUOTES, yamlMinimizeQuotes)
+                .build());
+        yamlMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        configurer.customCodecs().register(new Jackson2DocumentEncoder(yamlMapper, MEDIA_TYPE_APPLICATION_YAML));
+        configurer.customCodecs().register(new Jackson2DocumentDecoder(yamlMapper, MEDIA_TYPE_APPLICATION_YAML));
+    }
+
+    /**
+     * JSON when the request accepts anything, including error bodies, as in ConfiguringCORS.
+     */
+    @Override
+    public void configureContentTypeResolver(RequestedContentTypeResolverBuilder builder) {
+        builder.headerResolver();
+        builder.fixedResolver(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        var allowedOrigins = corsOriginPatterns.split(",");
+        registry.addMapping("/**")
+                .allowedMethods("*")
+                .allowedOrigins(allowedOrigins)
+                .exposedHeaders(HttpHeaders.LINK)
+                .allowCredentials(true);
+    }
+
+}
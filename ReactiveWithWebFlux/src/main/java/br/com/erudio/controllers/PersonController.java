@@ -0,0 +1,128 @@
+package br.com.erudio.controllers;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.services.PersonServices;
+import br.com.erudio.util.ETags;
+import br.com.erudio.util.MediaType;
+import br.com.erudio.util.SelfLinkTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.methodOn;
+
+/**
+ * The {@code /api/person/v1} contract of ConfiguringCORS, for JSON, XML and YAML.
+ * <p>
+ * Pages are streamed: the {@code Link} header for the next page is worked out first, from the key
+ * of the page's last row, and the rows up to that key are then written as they are read. A row
+ * deleted in between shortens the page instead of shifting it, so the next page never repeats a
+ * row already sent. Pages carry no {@code ETag}. With {@code Accept: application/x-ndjson} a page is written one person per line.
+ */
+@RestController
+@RequestMapping("/api/person/v1")
+public class PersonController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private PersonServices service;
+
+    private static Mono<SelfLinkTemplate> selfLink(ServerWebExchange exchange) {
+        return SelfLinkTemplate.of(key -> methodOn(PersonController.class).findById(key, null), exchange);
+    }
+
+    private static Mono<PersonVO> withSelfLink(Mono<PersonVO> person, ServerWebExchange exchange) {
+        return person.zipWith(selfLink(exchange), (vo, selfLink) -> vo.add(selfLink.withSelfRel(vo.getKey())));
+    }
+
+    private static Flux<PersonVO> withSelfLinks(Flux<PersonVO> people, ServerWebExchange exchange) {
+        return selfLink(exchange).flatMapMany(selfLink -> people.map(vo -> vo.add(selfLink.withSelfRel(vo.getKey()))));
+    }
+
+    @CrossOrigin(origins = "http://localhost:8080")
+    @GetMapping(value = "/{id}",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML})
+    public Mono<ResponseEntity<PersonVO>> findById(@PathVariable(value = "id") Long id, ServerWebExchange exchange) {
+        // a matching If-None-Match is answered with a 304 from the ETag
+        return withSelfLink(service.findById(id), exchange)
+                .map(person -> ResponseEntity.ok().eTag(ETags.strong(person.getVersion())).body(person));
+    }
+
+    @GetMapping(
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_NDJSON})
+    public Mono<ResponseEntity<Flux<PersonVO>>> findAll(
+            @RequestParam(value = "after", defaultValue = "0") Long after,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            ServerWebExchange exchange) {
+
+        var pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return service.findLastKey(after, pageSize)
+                .flatMap(lastKey -> linkTo(methodOn(PersonController.class).findAll(lastKey, pageSize, null), exchange)
+                        .withRel(IanaLinkRelations.NEXT).toMono()
+                        .map(next -> ResponseEntity.ok().header(HttpHeaders.LINK, next.toString())
+                                .body(withSelfLinks(service.findAllUpTo(after, lastKey), exchange))))
+                .switchIfEmpty(Mono.fromSupplier(() ->
+                        ResponseEntity.ok().body(withSelfLinks(service.findAll(after, pageSize), exchange))));
+    }
+
+    @GetMapping(value = "/search",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML})
+    public Mono<ResponseEntity<List<PersonVO>>> search(
+            @RequestParam(value = "name") String name,
+            @RequestParam(value = "after", defaultValue = "0") Long after,
+            @RequestParam(value = "size", defaultValue = "12") Integer size,
+            ServerWebExchange exchange) {
+
+        var pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return selfLink(exchange).flatMap(selfLink -> service.search(name, after, pageSize)
+                        .map(vo -> vo.add(selfLink.withSelfRel(vo.getKey())))
+                        .collectList())
+                .flatMap(people -> {
+                    if (people.size() < pageSize) return Mono.just(ResponseEntity.ok().body(people));
+                    var lastKey = people.get(people.size() - 1).getKey();
+                    return linkTo(methodOn(PersonController.class).search(name, lastKey, pageSize, null), exchange)
+                            .withRel(IanaLinkRelations.NEXT).toMono()
+                            .map(next -> ResponseEntity.ok().header(HttpHeaders.LINK, next.toString()).body(people));
+                });
+    }
+
+    @CrossOrigin(origins = {"http://localhost:8080", "https://erudio.com.br"})
+    @PostMapping(
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML},
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML})
+    public Mono<PersonVO> create(@RequestBody PersonVO person, ServerWebExchange exchange) {
+        return withSelfLink(service.create(person), exchange);
+    }
+
+    @PutMapping(
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML},
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML})
+    public Mono<ResponseEntity<PersonVO>> update(
+            @RequestBody PersonVO person,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            ServerWebExchange exchange) {
+
+        return withSelfLink(service.update(person, ETags.version(ifMatch)), exchange)
+                .map(updated -> {
+                    var response = ResponseEntity.ok();
+                    // the new version is only known without a re-read when If-Match named the old one
+                    if (updated.getVersion() != null) response.eTag(ETags.strong(updated.getVersion()));
+                    return response.body(updated);
+                });
+    }
+
+    @DeleteMapping(value = "/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable(value = "id") Long id) {
+        return service.delete(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
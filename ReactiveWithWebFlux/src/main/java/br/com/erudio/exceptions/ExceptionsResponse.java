@@ -0,0 +1,35 @@
+package br.com.erudio.exceptions;
+
+import java.io.Serializable;
+import java.util.Date;
+
+public class ExceptionsResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Date timestamp;
+    private String message;
+    private String details;
+
+    public ExceptionsResponse(Date timestamp, String message, String details) {
+        this.timestamp = timestamp;
+        this.message = message;
+        this.details = details;
+    }
+
+    public static long getSerialversionuid() {
+        return serialVersionUID;
+    }
+
+    public Date getTimestamp() {
+        return timestamp;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package br.com.erudio.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidParameterException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * A rejected request is a normal answer, so no stack trace is captured.
+     */
+    public InvalidParameterException(String ex) {
+        super(ex, null, false, false);
+    }
+
+}
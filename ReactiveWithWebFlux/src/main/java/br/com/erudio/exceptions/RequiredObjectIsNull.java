@@ -0,0 +1,27 @@
+package br.com.erudio.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class RequiredObjectIsNull extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Thrown for every null body; stackless, so it can be shared between requests.
+     */
+    public static final RequiredObjectIsNull NULL_OBJECT = new RequiredObjectIsNull();
+
+    /**
+     * A rejected request is a normal answer, so no stack trace is captured.
+     */
+    public RequiredObjectIsNull(String ex) {
+        super(ex, null, false, false);
+    }
+
+    public RequiredObjectIsNull() {
+        this("It is not allowed to persist a null object!");
+    }
+
+}
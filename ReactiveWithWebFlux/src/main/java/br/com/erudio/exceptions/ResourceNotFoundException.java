@@ -0,0 +1,24 @@
+package br.com.erudio.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ResourceNotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Thrown for every missing id. Having no stack trace, cause or suppressed exceptions, it has
+     * no per-throw state and can be shared between requests.
+     */
+    public static final ResourceNotFoundException NO_RECORDS = new ResourceNotFoundException("No records found for this ID!");
+
+    /**
+     * A 404 is a normal answer, so no stack trace is captured.
+     */
+    public ResourceNotFoundException(String ex) {
+        super(ex, null, false, false);
+    }
+
+}
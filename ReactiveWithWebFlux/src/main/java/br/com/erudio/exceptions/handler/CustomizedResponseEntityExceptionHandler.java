@@ -0,0 +1,60 @@
+package br.com.erudio.exceptions.handler;
+
+import java.util.Date;
+
+import br.com.erudio.exceptions.InvalidParameterException;
+import br.com.erudio.exceptions.PreconditionFailedException;
+import br.com.erudio.exceptions.RequiredObjectIsNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+
+import br.com.erudio.exceptions.ExceptionsResponse;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+
+/**
+ * The error bodies of ConfiguringCORS. Errors raised after a streamed page has started are past
+ * this handler: the status is already sent, so the connection is closed instead.
+ */
+@ControllerAdvice
+@RestController
+public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomizedResponseEntityExceptionHandler.class);
+
+    @ExceptionHandler(Exception.class)
+    public final ResponseEntity<ExceptionsResponse> handleAllExceptions(Exception ex, ServerHttpRequest request) {
+        logger.error("Unhandled exception for {}", request.getPath(), ex);
+        return response(HttpStatus.INTERNAL_SERVER_ERROR, ex, request);
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public final ResponseEntity<ExceptionsResponse> handleNotFoundExceptions(Exception ex, ServerHttpRequest request) {
+        return response(HttpStatus.NOT_FOUND, ex, request);
+    }
+
+    @ExceptionHandler({RequiredObjectIsNull.class, InvalidParameterException.class})
+    public final ResponseEntity<ExceptionsResponse> handleBadRequestExceptions(Exception ex, ServerHttpRequest request) {
+        return response(HttpStatus.BAD_REQUEST, ex, request);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public final ResponseEntity<ExceptionsResponse> handlePreconditionFailedExceptions(Exception ex, ServerHttpRequest request) {
+        return response(HttpStatus.PRECONDITION_FAILED, ex, request);
+    }
+
+    private static ResponseEntity<ExceptionsResponse> response(HttpStatus status, Exception ex, ServerHttpRequest request) {
+        var path = request.getPath().value();
+        if (status.is4xxClientError() && logger.isDebugEnabled()) {
+            logger.debug("{} for {}: {}", status.value(), path, ex.getMessage());
+        }
+        return new ResponseEntity<>(new ExceptionsResponse(new Date(), ex.getMessage(), "uri=" + path), status);
+    }
+
+}
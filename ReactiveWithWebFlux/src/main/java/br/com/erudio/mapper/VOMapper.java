@@ -0,0 +1,51 @@
+package br.com.erudio.mapper;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Entity/VO conversions generated at compile time by the MapStruct annotation processor.
+ * <p>
+ * The launch date is exposed as a {@link java.sql.Date}, which is what the JPA
+ * {@code @Temporal(DATE)} mapping of ConfiguringCORS returns for the same column, so it is
+ * written as {@code yyyy-MM-dd} as well.
+ */
+@Mapper
+public interface VOMapper {
+
+    VOMapper INSTANCE = Mappers.getMapper(VOMapper.class);
+
+    @Mapping(source = "id", target = "key")
+    PersonVO toPersonVO(Person person);
+
+    @InheritInverseConfiguration
+    Person toPerson(PersonVO person);
+
+    @Mapping(source = "id", target = "key")
+    BookVO toBookVO(Book book);
+
+    @InheritInverseConfiguration
+    Book toBook(BookVO book);
+
+    default Date toDate(LocalDateTime dateTime) {
+        if (dateTime == null) return null;
+        return java.sql.Date.valueOf(dateTime.toLocalDate());
+    }
+
+    default LocalDateTime toLocalDateTime(Date date) {
+        if (date == null) return null;
+        if (date instanceof java.sql.Date sqlDate) return sqlDate.toLocalDate().atStartOfDay();
+        return LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault()).atStartOfDay();
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.erudio.repositories;
+
+import br.com.erudio.model.Book;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface BookRepository extends ReactiveCrudRepository<Book, Long> {
+
+    @Query("SELECT * FROM books WHERE id > :after ORDER BY id LIMIT :size")
+    Flux<Book> findPage(Long after, int size);
+
+    /**
+     * The id at {@code offset} in the page starting after {@code after}, read from the primary key
+     * alone; empty when the page has fewer rows.
+     */
+    @Query("SELECT id FROM books WHERE id > :after ORDER BY id LIMIT 1 OFFSET :offset")
+    Mono<Long> findKeyAt(Long after, int offset);
+
+    @Query("SELECT * FROM books WHERE id > :after AND id <= :last ORDER BY id")
+    Flux<Book> findPageUpTo(Long after, Long last);
+
+    /**
+     * Keyset page of books matching a boolean-mode full-text query over title and author.
+     */
+    @Query("SELECT * FROM books " +
+            "WHERE MATCH(title, author) AGAINST (:terms IN BOOLEAN MODE) AND id > :after " +
+            "ORDER BY id LIMIT :size")
+    Flux<Book> searchByTitleOrAuthor(String terms, Long after, int size);
+
+    @Modifying
+    @Query("UPDATE books SET author = :author, launch_date = :launchDate, price = :price, " +
+            "title = :title, version = version + 1 " +
+            "WHERE id = :id AND (:version IS NULL OR version = :version)")
+    Mono<Integer> updateBook(Long id, String author, LocalDateTime launchDate, BigDecimal price, String title,
+                             Long version);
+
+    @Modifying
+    @Query("DELETE FROM books WHERE id = :id")
+    Mono<Integer> deleteBookById(Long id);
+}
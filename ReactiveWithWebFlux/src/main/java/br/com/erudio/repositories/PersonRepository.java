@@ -0,0 +1,48 @@
+package br.com.erudio.repositories;
+
+import br.com.erudio.model.Person;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface PersonRepository extends ReactiveCrudRepository<Person, Long> {
+
+    @Query("SELECT * FROM person WHERE id > :after ORDER BY id LIMIT :size")
+    Flux<Person> findPage(Long after, int size);
+
+    /**
+     * The id at {@code offset} in the page starting after {@code after}, read from the primary key
+     * alone; empty when the page has fewer rows.
+     */
+    @Query("SELECT id FROM person WHERE id > :after ORDER BY id LIMIT 1 OFFSET :offset")
+    Mono<Long> findKeyAt(Long after, int offset);
+
+    @Query("SELECT * FROM person WHERE id > :after AND id <= :last ORDER BY id")
+    Flux<Person> findPageUpTo(Long after, Long last);
+
+    /**
+     * Keyset page of people whose first or last name starts with {@code prefix}, which must already
+     * end in {@code %}. Same statement as ConfiguringCORS: each branch of the union is answered from
+     * its name index alone, and only the final page of rows is read from the table. A prefix is a
+     * range over several names, so each branch still sorts all of its matching index entries by id.
+     */
+    @Query("SELECT p.* FROM person p JOIN (" +
+            "(SELECT id FROM person WHERE first_name LIKE :prefix AND id > :after ORDER BY id LIMIT :size) " +
+            "UNION " +
+            "(SELECT id FROM person WHERE last_name LIKE :prefix AND id > :after ORDER BY id LIMIT :size) " +
+            "ORDER BY id LIMIT :size) m ON m.id = p.id ORDER BY p.id")
+    Flux<Person> searchByNamePrefix(String prefix, Long after, int size);
+
+    @Modifying
+    @Query("UPDATE person SET first_name = :firstName, last_name = :lastName, " +
+            "address = :address, gender = :gender, version = version + 1 " +
+            "WHERE id = :id AND (:version IS NULL OR version = :version)")
+    Mono<Integer> updatePerson(Long id, String firstName, String lastName, String address, String gender,
+                               Long version);
+
+    @Modifying
+    @Query("DELETE FROM person WHERE id = :id")
+    Mono<Integer> deletePersonById(Long id);
+}
@@ -0,0 +1,65 @@
+package br.com.erudio.repositories;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ids from one of the single-row {@code *_seq} tables Hibernate uses to emulate sequences on
+ * MySQL (see V5__Create_Id_Sequences.sql), reserved the way its pooled optimizer reserves them.
+ * <p>
+ * A reservation reads {@code next_val} under a row lock and advances it by the allocation size;
+ * the value read is the highest id of the reserved block. Following the same rule as Hibernate
+ * is what lets this application and ConfiguringCORS insert into the same tables. Ids are then
+ * served from memory until the block runs out. Two reservations racing on an exhausted block
+ * each get their own block, and the ids left in the one replaced first are skipped.
+ */
+public class PooledSequence {
+
+    private final DatabaseClient client;
+    private final TransactionalOperator transactions;
+    private final String select;
+    private final String update;
+    private final int allocationSize;
+
+    private long next;
+    private long hi = -1;
+
+    public PooledSequence(DatabaseClient client, TransactionalOperator transactions, String table, int allocationSize) {
+        this.client = client;
+        this.transactions = transactions;
+        this.select = "SELECT next_val FROM " + table + " FOR UPDATE";
+        this.update = "UPDATE " + table + " SET next_val = :next WHERE next_val = :current";
+        this.allocationSize = allocationSize;
+    }
+
+    public Mono<Long> nextId() {
+        synchronized (this) {
+            if (next <= hi) return Mono.just(next++);
+        }
+        return reserve().map(reservedHi -> {
+            long first = reservedHi - allocationSize + 1;
+            synchronized (this) {
+                next = first + 1;
+                hi = reservedHi;
+            }
+            return first;
+        });
+    }
+
+    /**
+     * The highest id of a newly reserved block.
+     */
+    private Mono<Long> reserve() {
+        return client.sql(select)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(current -> client.sql(update)
+                        .bind("next", current + allocationSize)
+                        .bind("current", current)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(current))
+                .as(transactions::transactional);
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.erudio.serialization.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.EvoInflectorLinkRelationProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * JSON encoder that writes single resources as HAL and streamed pages as plain JSON.
+ * <p>
+ * ConfiguringCORS serves HAL as its default JSON: a resource carries {@code _links}, while a page
+ * is a {@code List} of resources, which Jackson writes with the {@code links} array. Here a page
+ * is a {@code Flux} of the same resource type, so the choice is made on the publisher instead.
+ */
+public class HalJackson2JsonEncoder extends Jackson2JsonEncoder {
+
+    private final Jackson2JsonEncoder streaming;
+
+    public HalJackson2JsonEncoder(ObjectMapper mapper) {
+        super(mapper);
+        this.streaming = new Jackson2JsonEncoder(mapper);
+
+        var halMapper = mapper.copy().registerModule(new Jackson2HalModule());
+        halMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new EvoInflectorLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        registerObjectMappersForType(RepresentationModel.class, mappers -> {
+            mappers.put(MediaType.APPLICATION_JSON, halMapper);
+            mappers.put(MediaTypes.HAL_JSON, halMapper);
+            mappers.put(MediaType.APPLICATION_NDJSON, mapper);
+        });
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+
+        if (inputStream instanceof Mono) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        return streaming.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.erudio.serialization.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.json.AbstractJackson2Decoder;
+import org.springframework.util.MimeType;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Jackson decoder for XML and YAML request bodies.
+ * <p>
+ * These parsers cannot be fed buffer by buffer like the JSON one, so a body is always joined
+ * and read as a single document. A {@code Flux} body is read as the {@code List} document
+ * {@link Jackson2DocumentEncoder} writes.
+ */
+public class Jackson2DocumentDecoder extends AbstractJackson2Decoder {
+
+    public Jackson2DocumentDecoder(ObjectMapper mapper, MimeType... mimeTypes) {
+        super(mapper, mimeTypes);
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
+                               MimeType mimeType, Map<String, Object> hints) {
+        var listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return decodeToMono(input, listType, mimeType, hints).flatMapIterable(list -> (List<?>) list);
+    }
+}
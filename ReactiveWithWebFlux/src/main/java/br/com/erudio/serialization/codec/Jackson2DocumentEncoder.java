@@ -0,0 +1,43 @@
+package br.com.erudio.serialization.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.util.MimeType;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Jackson encoder for formats whose collections are a single document, such as XML and YAML.
+ * <p>
+ * The JSON encoder writes a {@code Flux} element by element inside {@code [} and {@code ]}, which
+ * is only valid JSON. Here the elements are collected first and written as one {@code List}, so
+ * the document is the one the servlet converters write for the same body: {@code <List><item>}
+ * in XML and a sequence in YAML. Pages are bounded, so collecting them costs little.
+ */
+public class Jackson2DocumentEncoder extends AbstractJackson2Encoder {
+
+    public Jackson2DocumentEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
+        super(mapper, mimeTypes);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+
+        if (inputStream instanceof Mono) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        var listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return Flux.from(inputStream)
+                .collectList()
+                .map(list -> encodeValue(list, bufferFactory, listType, mimeType, hints))
+                .flux();
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.erudio.services;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.exceptions.PreconditionFailedException;
+import br.com.erudio.exceptions.RequiredObjectIsNull;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.mapper.VOMapper;
+import br.com.erudio.model.Book;
+import br.com.erudio.repositories.BookRepository;
+import br.com.erudio.repositories.PooledSequence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+@Service
+public class BookServices {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookServices.class);
+
+    @Autowired
+    BookRepository repository;
+
+    @Autowired
+    @Qualifier("bookIds")
+    PooledSequence ids;
+
+    /**
+     * The page streamed row by row as the subscriber requests them, so a slow client holds back
+     * the reads instead of the page piling up in memory.
+     */
+    public Flux<BookVO> findAll(Long after, Integer size) {
+        logger.info("Finding a page of books!");
+        return repository.findPage(after, size).map(VOMapper.INSTANCE::toBookVO);
+    }
+
+    /**
+     * The key of the last book of a full page, for the link to the next one; empty when the
+     * page is the last. A full page is then streamed with {@link #findAllUpTo}, so it ends at
+     * exactly this key whatever is written in between.
+     */
+    public Mono<Long> findLastKey(Long after, Integer size) {
+        return repository.findKeyAt(after, size - 1);
+    }
+
+    /**
+     * The rows after {@code after} up to and including {@code lastKey}, streamed like
+     * {@link #findAll}. A row deleted since {@code lastKey} was read makes the page shorter; the
+     * next page still starts right after it.
+     */
+    public Flux<BookVO> findAllUpTo(Long after, Long lastKey) {
+        logger.info("Finding a page of books!");
+        return repository.findPageUpTo(after, lastKey).map(VOMapper.INSTANCE::toBookVO);
+    }
+
+    public Flux<BookVO> search(String query, Long after, Integer size) {
+        var terms = fullTextTerms(query);
+        if (terms.isEmpty()) return Flux.error(new RequiredObjectIsNull("A title or author to search for is required!"));
+
+        logger.info("Searching books by title or author!");
+
+        return repository.searchByTitleOrAuthor(terms, after, size).map(VOMapper.INSTANCE::toBookVO);
+    }
+
+    public Mono<BookVO> findById(Long id) {
+
+        logger.info("Finding one book!");
+
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(ResourceNotFoundException.NO_RECORDS))
+                .map(VOMapper.INSTANCE::toBookVO);
+    }
+
+    public Mono<BookVO> create(BookVO book) {
+        if (book == null) return Mono.error(RequiredObjectIsNull.NULL_OBJECT);
+
+        logger.info("Creating one book!");
+
+        var entity = VOMapper.INSTANCE.toBook(book);
+        entity.setVersion(null);
+        return ids.nextId()
+                .flatMap(id -> {
+                    entity.setId(id);
+                    return repository.save(entity);
+                })
+                .map(VOMapper.INSTANCE::toBookVO);
+    }
+
+    /**
+     * Updates only if the stored version still equals {@code expectedVersion}, when one is given.
+     * The returned version is {@code expectedVersion + 1}, or {@code null} when none was given.
+     */
+    @Transactional
+    public Mono<BookVO> update(BookVO book, Long expectedVersion) {
+        if (book == null) return Mono.error(RequiredObjectIsNull.NULL_OBJECT);
+
+        logger.info("Updating one book!");
+
+        var entity = VOMapper.INSTANCE.toBook(book);
+        return repository.updateBook(entity.getId(), entity.getAuthor(), entity.getLaunchDate(),
+                        entity.getPrice(), entity.getTitle(), expectedVersion)
+                .flatMap(updated -> updated > 0
+                        ? Mono.just(entity)
+                        : notUpdated(entity, expectedVersion))
+                .map(updated -> {
+                    // the update matched exactly this version and incremented it; without If-Match it is not known
+                    updated.setVersion(expectedVersion == null ? null : expectedVersion + 1);
+                    return VOMapper.INSTANCE.toBookVO(updated);
+                });
+    }
+
+    public Mono<Void> delete(Long id) {
+
+        logger.info("Deleting one book!");
+
+        return repository.deleteBookById(id)
+                .flatMap(deleted -> deleted == 0 ? Mono.error(ResourceNotFoundException.NO_RECORDS) : Mono.empty());
+    }
+
+    private Mono<Book> notUpdated(Book entity, Long expectedVersion) {
+        if (expectedVersion == null || entity.getId() == null) return Mono.error(ResourceNotFoundException.NO_RECORDS);
+        return repository.existsById(entity.getId())
+                .flatMap(exists -> Mono.error(exists ? PreconditionFailedException.CHANGED : ResourceNotFoundException.NO_RECORDS));
+    }
+
+    /**
+     * Every word becomes a required prefix term, with the boolean-mode operators stripped.
+     */
+    private static String fullTextTerms(String query) {
+        if (query == null) return "";
+        return Arrays.stream(query.split("\\s+"))
+                .map(word -> word.replaceAll("[+\\-<>()~*\"@]", ""))
+                .filter(word -> !word.isEmpty())
+                .map(word -> "+" + word + "*")
+                .collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.erudio.services;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.exceptions.PreconditionFailedException;
+import br.com.erudio.exceptions.RequiredObjectIsNull;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.mapper.VOMapper;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.repositories.PooledSequence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class PersonServices {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonServices.class);
+
+    @Autowired
+    PersonRepository repository;
+
+    @Autowired
+    @Qualifier("personIds")
+    PooledSequence ids;
+
+    /**
+     * The page streamed row by row as the subscriber requests them, so a slow client holds back
+     * the reads instead of the page piling up in memory.
+     */
+    public Flux<PersonVO> findAll(Long after, Integer size) {
+        logger.info("Finding a page of people!");
+        return repository.findPage(after, size).map(VOMapper.INSTANCE::toPersonVO);
+    }
+
+    /**
+     * The key of the last person of a full page, for the link to the next one; empty when the
+     * page is the last. A full page is then streamed with {@link #findAllUpTo}, so it ends at
+     * exactly this key whatever is written in between.
+     */
+    public Mono<Long> findLastKey(Long after, Integer size) {
+        return repository.findKeyAt(after, size - 1);
+    }
+
+    /**
+     * The rows after {@code after} up to and including {@code lastKey}, streamed like
+     * {@link #findAll}. A row deleted since {@code lastKey} was read makes the page shorter; the
+     * next page still starts right after it.
+     */
+    public Flux<PersonVO> findAllUpTo(Long after, Long lastKey) {
+        logger.info("Finding a page of people!");
+        return repository.findPageUpTo(after, lastKey).map(VOMapper.INSTANCE::toPersonVO);
+    }
+
+    public Flux<PersonVO> search(String name, Long after, Integer size) {
+        if (name == null || name.isBlank()) return Flux.error(new RequiredObjectIsNull("A name to search for is required!"));
+
+        logger.info("Searching people by name!");
+
+        var prefix = escapeLike(name.strip()) + "%";
+        return repository.searchByNamePrefix(prefix, after, size).map(VOMapper.INSTANCE::toPersonVO);
+    }
+
+    public Mono<PersonVO> findById(Long id) {
+
+        logger.info("Finding one person!");
+
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(ResourceNotFoundException.NO_RECORDS))
+                .map(VOMapper.INSTANCE::toPersonVO);
+    }
+
+    public Mono<PersonVO> create(PersonVO person) {
+        if (person == null) return Mono.error(RequiredObjectIsNull.NULL_OBJECT);
+
+        logger.info("Creating one person!");
+
+        var entity = VOMapper.INSTANCE.toPerson(person);
+        entity.setVersion(null);
+        return ids.nextId()
+                .flatMap(id -> {
+                    entity.setId(id);
+                    return repository.save(entity);
+                })
+                .map(VOMapper.INSTANCE::toPersonVO);
+    }
+
+    /**
+     * Updates only if the stored version still equals {@code expectedVersion}, when one is given.
+     * The returned version is {@code expectedVersion + 1}, or {@code null} when none was given.
+     */
+    @Transactional
+    public Mono<PersonVO> update(PersonVO person, Long expectedVersion) {
+        if (person == null) return Mono.error(RequiredObjectIsNull.NULL_OBJECT);
+
+        logger.info("Updating one person!");
+
+        var entity = VOMapper.INSTANCE.toPerson(person);
+        return repository.updatePerson(entity.getId(), entity.getFirstName(), entity.getLastName(),
+                        entity.getAddress(), entity.getGender(), expectedVersion)
+                .flatMap(updated -> updated > 0
+                        ? Mono.just(entity)
+                        : notUpdated(entity, expectedVersion))
+                .map(updated -> {
+                    // the update matched exactly this version and incremented it; without If-Match it is not known
+                    updated.setVersion(expectedVersion == null ? null : expectedVersion + 1);
+                    return VOMapper.INSTANCE.toPersonVO(updated);
+                });
+    }
+
+    public Mono<Void> delete(Long id) {
+
+        logger.info("Deleting one person!");
+
+        return repository.deletePersonById(id)
+                .flatMap(deleted -> deleted == 0 ? Mono.error(ResourceNotFoundException.NO_RECORDS) : Mono.empty());
+    }
+
+    private Mono<Person> notUpdated(Person entity, Long expectedVersion) {
+        if (expectedVersion == null || entity.getId() == null) return Mono.error(ResourceNotFoundException.NO_RECORDS);
+        return repository.existsById(entity.getId())
+                .flatMap(exists -> Mono.error(exists ? PreconditionFailedException.CHANGED : ResourceNotFoundException.NO_RECORDS));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.erudio.util;
+
+import br.com.erudio.exceptions.PreconditionFailedException;
+
+/**
+ * Entity tags built from the {@code version} column, the same tags ConfiguringCORS sends.
+ * <p>
+ * A single resource is tagged with its version, which changes on every update. Pages are
+ * streamed, so they carry no tag: it could only be computed after the last row was written.
+ */
+public final class ETags {
+
+    private static final String ANY = "*";
+
+    private ETags() {}
+
+    public static String strong(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * The version an {@code If-Match} header requires, or {@code null} when any version is acceptable.
+     * If-Match uses the strong comparison, so a weak or malformed tag can never match.
+     */
+    public static Long version(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) return null;
+
+        var tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"')
+            throw PreconditionFailedException.CHANGED;
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw PreconditionFailedException.CHANGED;
+        }
+    }
+}
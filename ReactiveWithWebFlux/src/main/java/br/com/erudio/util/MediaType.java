@@ -0,0 +1,10 @@
+package br.com.erudio.util;
+
+public class MediaType {
+
+    public static final String APPLICATION_JSON = "application/json";
+    public static final String APPLICATION_XML = "application/xml";
+    public static final String APPLICATION_YAML = "application/x-yaml";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+}
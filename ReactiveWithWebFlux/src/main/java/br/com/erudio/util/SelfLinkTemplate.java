@@ -0,0 +1,45 @@
+package br.com.erudio.util;
+
+import static org.springframework.hateoas.server.reactive.WebFluxLinkBuilder.linkTo;
+
+import org.springframework.hateoas.Link;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Self link resolved once per request and stamped per element by string concatenation.
+ * <p>
+ * The controller invocation is expanded a single time through {@code WebFluxLinkBuilder}, with
+ * the exchange's base URI and a sentinel key, so each element gets the href
+ * {@code linkTo(methodOn(..).findById(key), exchange).withSelfRel()} would produce without a
+ * proxy invocation per element. Links need the exchange, so the controllers add them.
+ */
+public class SelfLinkTemplate {
+
+    private static final Long SENTINEL_KEY = Long.MIN_VALUE;
+
+    private final String prefix;
+    private final String suffix;
+
+    private SelfLinkTemplate(String href) {
+        var sentinel = SENTINEL_KEY.toString();
+        var index = href.lastIndexOf(sentinel);
+        if (index < 0) throw new IllegalArgumentException("Invocation does not expand its key into the link: " + href);
+        this.prefix = href.substring(0, index);
+        this.suffix = href.substring(index + sentinel.length());
+    }
+
+    public static Mono<SelfLinkTemplate> of(KeyedInvocation invocation, ServerWebExchange exchange) {
+        return linkTo(invocation.invoke(SENTINEL_KEY), exchange).withSelfRel().toMono()
+                .map(link -> new SelfLinkTemplate(link.getHref()));
+    }
+
+    public Link withSelfRel(Long key) {
+        return Link.of(prefix + key + suffix);
+    }
+
+    @FunctionalInterface
+    public interface KeyedInvocation {
+        Object invoke(Long key);
+    }
+}
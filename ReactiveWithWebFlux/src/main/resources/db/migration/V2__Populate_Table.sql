@@ -0,0 +1,4 @@
+INSERT INTO `person` (`id`, `address`, `first_name`, `gender`, `last_name`)
+VALUES (1, 'São Paulo', 'João V', 'Male', 'S Dias'),
+       (2, 'Minas Gerais', 'Nando Moura', 'Male', 'Silva'),
+       (5, 'Java - Intellij', 'Value', 'Male', 'Object');
\ No newline at end of file
@@ -0,0 +1,12 @@
+-- MySQL has no sequences, so Hibernate emulates them with single-row tables.
+-- The pooled optimizer hands out the block (next_val - 49 .. next_val), so
+-- each table is seeded 50 ids above the current maximum.
+CREATE TABLE IF NOT EXISTS `person_seq` (
+    `next_val` bigint DEFAULT NULL
+);
+INSERT INTO `person_seq` (`next_val`) SELECT COALESCE(MAX(`id`), 0) + 50 FROM `person`;
+
+CREATE TABLE IF NOT EXISTS `books_seq` (
+    `next_val` bigint DEFAULT NULL
+);
+INSERT INTO `books_seq` (`next_val`) SELECT COALESCE(MAX(`id`), 0) + 50 FROM `books`;
@@ -0,0 +1,4 @@
+-- Optimistic-locking version used by @Version and exposed as the resource ETag.
+ALTER TABLE `person` ADD COLUMN `version` bigint NOT NULL DEFAULT 0;
+
+ALTER TABLE `books` ADD COLUMN `version` bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,44 @@
+package br.com.erudio.loadtests;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Closed-loop load on the same request against ConfiguringCORS and this application, at each
+ * client count in turn, for comparing the blocking servlet and JPA stack with WebFlux and R2DBC.
+ * <p>
+ * Start both against the same database, pinned to the same few cores so that the server, not
+ * the machine, is the bottleneck, and with the cache of ConfiguringCORS off so that both read
+ * every page from the database:
+ * <pre>
+ * taskset -c 0,1 java -XX:ActiveProcessorCount=2 -jar ../ConfiguringCORS/target/ConnectingToMySQL-0.0.1-SNAPSHOT.jar \
+ *     --spring.profiles.active=production --spring.cache.type=none
+ * taskset -c 2,3 java -XX:ActiveProcessorCount=2 -jar target/ReactiveWithWebFlux-0.0.1-SNAPSHOT.jar
+ * taskset -c 4-7 java -cp target/test-classes br.com.erudio.loadtests.ReactiveVsServletLoadRunner \
+ *     [servlet=http://localhost:8080] [reactive=http://localhost:8081] [path=/api/person/v1?size=12] \
+ *     [clients=100,1000,5000] [seconds=30]
+ * </pre>
+ * Both pools hold 20 connections, so past a few hundred clients the servlet side queues on its
+ * Tomcat workers and the reactive side on its R2DBC pool; compare throughput and p99 per step.
+ */
+public class ReactiveVsServletLoadRunner {
+
+    public static void main(String[] args) throws Exception {
+        var servlet = args.length > 0 ? args[0] : "http://localhost:8080";
+        var reactive = args.length > 1 ? args[1] : "http://localhost:8081";
+        var path = args.length > 2 ? args[2] : "/api/person/v1?size=12";
+        var clientCounts = Arrays.stream((args.length > 3 ? args[3] : "100,1000,5000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        var duration = Duration.ofSeconds(args.length > 4 ? Long.parseLong(args[4]) : 30);
+
+        var load = new ClosedLoopLoad();
+        for (var clients : clientCounts) {
+            for (var base : new String[]{servlet, reactive}) {
+                var url = URI.create(base + path);
+                load.run(url.toString(), () -> url, clients, duration);
+                System.out.println();
+            }
+        }
+    }
+}
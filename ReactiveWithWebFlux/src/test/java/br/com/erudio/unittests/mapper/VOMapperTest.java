@@ -0,0 +1,45 @@
+package br.com.erudio.unittests.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.mapper.VOMapper;
+import br.com.erudio.model.Book;
+
+public class VOMapperTest {
+
+    private static Book book() {
+        var book = new Book();
+        book.setId(2L);
+        book.setAuthor("Ralph Johnson, Erich Gamma, John Vlissides e Richard Helm");
+        book.setLaunchDate(LocalDateTime.of(2017, 11, 29, 13, 50, 5));
+        book.setPrice(new BigDecimal("45.00"));
+        book.setTitle("Design Patterns");
+        book.setVersion(3L);
+        return book;
+    }
+
+    @Test
+    public void launchDateIsSqlDateTest() {
+        var vo = VOMapper.INSTANCE.toBookVO(book());
+
+        assertEquals(Long.valueOf(2L), vo.getKey());
+        assertEquals(java.sql.Date.class, vo.getLaunchDate().getClass());
+        assertEquals("2017-11-29", vo.getLaunchDate().toString());
+    }
+
+    @Test
+    public void roundTripsToMidnightTest() {
+        var book = VOMapper.INSTANCE.toBook(VOMapper.INSTANCE.toBookVO(book()));
+
+        assertEquals(Long.valueOf(2L), book.getId());
+        assertEquals(LocalDateTime.of(2017, 11, 29, 0, 0), book.getLaunchDate());
+        assertEquals(Long.valueOf(3L), book.getVersion());
+        assertNull(VOMapper.INSTANCE.toBookVO(null));
+    }
+}
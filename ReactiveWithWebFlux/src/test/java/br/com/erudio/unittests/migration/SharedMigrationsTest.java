@@ -0,0 +1,42 @@
+package br.com.erudio.unittests.migration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Both applications migrate the same schema, so Flyway rejects whichever starts second if a
+ * script differs from the one the other applied. The migrations here must stay byte-identical
+ * copies of those of ConfiguringCORS.
+ */
+public class SharedMigrationsTest {
+
+    private static final Path MIGRATIONS = Path.of("src/main/resources/db/migration");
+    private static final Path SERVLET_MIGRATIONS = Path.of("../ConfiguringCORS/src/main/resources/db/migration");
+
+    private static List<String> scripts(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    @Test
+    public void migrationsMatchConfiguringCorsTest() throws IOException {
+        assumeTrue(Files.isDirectory(SERVLET_MIGRATIONS), "ConfiguringCORS is not checked out next to this module");
+
+        var scripts = scripts(MIGRATIONS);
+        assertEquals(scripts(SERVLET_MIGRATIONS), scripts);
+        for (var script : scripts) {
+            assertArrayEquals(Files.readAllBytes(SERVLET_MIGRATIONS.resolve(script)),
+                    Files.readAllBytes(MIGRATIONS.resolve(script)), script);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package br.com.erudio.unittests.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import br.com.erudio.repositories.PooledSequence;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class PooledSequenceTest {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    /**
+     * The seed V5__Create_Id_Sequences.sql writes for a table whose highest id is {@code maxId}.
+     */
+    private static long seed(long maxId) {
+        return maxId + ALLOCATION_SIZE;
+    }
+
+    /**
+     * Hibernate's pooled optimizer as ConfiguringCORS configures it: {@code @SequenceGenerator}
+     * leaves the initial value at 1.
+     */
+    private static PooledOptimizer hibernate() {
+        var optimizer = new PooledOptimizer(Long.class, ALLOCATION_SIZE);
+        optimizer.injectInitialValue(1);
+        return optimizer;
+    }
+
+    /**
+     * The access Hibernate's table structure gives its optimizer: read {@code next_val}, then
+     * advance it by the allocation size.
+     */
+    private static AccessCallback table(AtomicLong nextVal, int allocationSize) {
+        return new AccessCallback() {
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                var value = IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class);
+                value.initialize(nextVal.getAndAdd(allocationSize));
+                return value;
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return null;
+            }
+        };
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 13, 1_000})
+    public void agreesWithHibernateOnTheV5SeedTest(long maxId) {
+        var row = new SequenceRow(seed(maxId));
+        var sequence = new PooledSequence(row.client, row.transactions, "person_seq", ALLOCATION_SIZE);
+
+        var hibernateNextVal = new AtomicLong(seed(maxId));
+        var optimizer = hibernate();
+        var callback = table(hibernateNextVal, ALLOCATION_SIZE);
+
+        assertEquals(maxId + 1, sequence.nextId().block());
+        assertEquals(maxId + 1, optimizer.generate(callback));
+        for (int i = 1; i < 3 * ALLOCATION_SIZE + 7; i++) {
+            assertEquals(optimizer.generate(callback), sequence.nextId().block());
+        }
+        assertEquals(hibernateNextVal.get(), row.nextVal.get());
+    }
+
+    @Test
+    public void sharesTheTableWithHibernateTest() {
+        var row = new SequenceRow(seed(13));
+        var sequence = new PooledSequence(row.client, row.transactions, "person_seq", ALLOCATION_SIZE);
+        var optimizer = hibernate();
+        var callback = table(row.nextVal, ALLOCATION_SIZE);
+
+        var ids = new HashSet<Long>();
+        for (int i = 0; i < 4 * ALLOCATION_SIZE; i++) {
+            assertTrue(ids.add((Long) optimizer.generate(callback)));
+            assertTrue(ids.add(sequence.nextId().block()));
+        }
+        assertTrue(ids.stream().allMatch(id -> id > 13));
+    }
+
+    @Test
+    public void racingReservationsEachGetTheirOwnBlockTest() throws Exception {
+        var row = new SequenceRow(seed(13));
+        var sequence = new PooledSequence(row.client, row.transactions, "person_seq", ALLOCATION_SIZE);
+
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            // both callers find no block and queue on the row lock before either reserves one
+            row.lock.lock();
+            var first = executor.submit(() -> sequence.nextId().block());
+            var second = executor.submit(() -> sequence.nextId().block());
+            while (row.lock.getQueueLength() < 2) Thread.onSpinWait();
+            row.lock.unlock();
+
+            assertEquals(Set.of(14L, 64L), Set.of(first.get(), second.get()));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, row.matchedUpdates.get());
+        assertEquals(seed(13) + 2 * ALLOCATION_SIZE, row.nextVal.get());
+
+        // the block installed last is served; the rest of the other one is skipped, never reused
+        var ids = new HashSet<>(Set.of(14L, 64L));
+        for (int i = 0; i < 2 * ALLOCATION_SIZE; i++) assertTrue(ids.add(sequence.nextId().block()));
+        assertTrue(ids.stream().allMatch(id -> id > 13));
+    }
+
+    @Test
+    public void concurrentCallersAcrossExhaustedBlocksGetDistinctIdsTest() throws Exception {
+        int allocationSize = 20;
+        int threads = 8;
+        int idsPerThread = 1_000;
+        var row = new SequenceRow(seed(0));
+        var sequence = new PooledSequence(row.client, row.transactions, "books_seq", allocationSize);
+
+        var start = new CountDownLatch(1);
+        var ids = ConcurrentHashMap.<Long>newKeySet();
+        var duplicates = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var callers = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < threads; t++) {
+                callers.add(() -> {
+                    start.await();
+                    for (int i = 0; i < idsPerThread; i++) {
+                        if (!ids.add(sequence.nextId().block())) duplicates.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            var results = callers.stream().map(executor::submit).toList();
+            start.countDown();
+            for (var result : results) result.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, duplicates.get());
+        assertEquals(threads * idsPerThread, ids.size());
+        // every reservation matched the value it read under the lock, and no id lies beyond the last block
+        assertEquals(row.reservations.get(), row.matchedUpdates.get());
+        var highestReserved = row.nextVal.get() - allocationSize;
+        assertTrue(ids.stream().allMatch(id -> id >= 1 && id <= highestReserved));
+    }
+
+    /**
+     * A {@code *_seq} row behind a mocked {@link DatabaseClient}. A transaction holds the row lock
+     * from its {@code SELECT ... FOR UPDATE} until it ends, as InnoDB does.
+     */
+    private static class SequenceRow {
+
+        final AtomicLong nextVal;
+        final AtomicInteger reservations = new AtomicInteger();
+        final AtomicInteger matchedUpdates = new AtomicInteger();
+        final DatabaseClient client = mock(DatabaseClient.class);
+        final TransactionalOperator transactions = mock(TransactionalOperator.class);
+        final ReentrantLock lock = new ReentrantLock();
+
+        @SuppressWarnings("unchecked")
+        SequenceRow(long seed) {
+            nextVal = new AtomicLong(seed);
+            when(client.sql(anyString())).thenAnswer(invocation -> {
+                String sql = invocation.getArgument(0);
+                if (sql.startsWith("SELECT next_val FROM ") && sql.endsWith(" FOR UPDATE")) return select();
+                if (sql.startsWith("UPDATE ")) return update();
+                throw new AssertionError("Unexpected statement: " + sql);
+            });
+            when(transactions.transactional(any(Mono.class))).thenAnswer(invocation -> {
+                Mono<Object> work = invocation.getArgument(0);
+                return Mono.defer(() -> {
+                    lock.lock();
+                    return work.doFinally(signal -> lock.unlock());
+                });
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private GenericExecuteSpec select() {
+            var spec = mock(GenericExecuteSpec.class);
+            when(spec.map(any(Function.class))).thenAnswer(invocation -> {
+                Function<Readable, Object> mapping = invocation.getArgument(0);
+                return rows(Mono.fromCallable(() -> {
+                    assertTrue(lock.isHeldByCurrentThread(), "read outside the transaction");
+                    return mapping.apply(value(nextVal.get()));
+                }));
+            });
+            return spec;
+        }
+
+        private GenericExecuteSpec update() {
+            var bindings = new HashMap<String, Object>();
+            var spec = mock(GenericExecuteSpec.class);
+            when(spec.bind(anyString(), any())).thenAnswer(invocation -> {
+                bindings.put(invocation.getArgument(0), invocation.getArgument(1));
+                return spec;
+            });
+            when(spec.fetch()).thenReturn(rowsUpdated(Mono.fromCallable(() -> {
+                assertTrue(lock.isHeldByCurrentThread(), "written outside the transaction");
+                reservations.incrementAndGet();
+                if (!nextVal.compareAndSet((Long) bindings.get("current"), (Long) bindings.get("next"))) return 0L;
+                matchedUpdates.incrementAndGet();
+                return 1L;
+            })));
+            return spec;
+        }
+
+        private static Readable value(long value) {
+            return new Readable() {
+                @Override
+                public <T> T get(int index, Class<T> type) {
+                    assertEquals(0, index);
+                    return type.cast(value);
+                }
+
+                @Override
+                public <T> T get(String name, Class<T> type) {
+                    throw new UnsupportedOperationException(name);
+                }
+            };
+        }
+
+        private static <T> RowsFetchSpec<T> rows(Mono<T> one) {
+            return new RowsFetchSpec<>() {
+                @Override
+                public Mono<T> one() {
+                    return one;
+                }
+
+                @Override
+                public Mono<T> first() {
+                    return one;
+                }
+
+                @Override
+                public Flux<T> all() {
+                    return one.flux();
+                }
+            };
+        }
+
+        private static FetchSpec<Map<String, Object>> rowsUpdated(Mono<Long> count) {
+            return new FetchSpec<>() {
+                @Override
+                public Mono<Map<String, Object>> one() {
+                    return Mono.empty();
+                }
+
+                @Override
+                public Mono<Map<String, Object>> first() {
+                    return Mono.empty();
+                }
+
+                @Override
+                public Flux<Map<String, Object>> all() {
+                    return Flux.empty();
+                }
+
+                @Override
+                public Mono<Long> rowsUpdated() {
+                    return count;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.erudio.unittests.serialization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.hateoas.Link;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.serialization.codec.HalJackson2JsonEncoder;
+import br.com.erudio.serialization.codec.Jackson2DocumentDecoder;
+import br.com.erudio.serialization.codec.Jackson2DocumentEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class CodecsTest {
+
+    private static final MediaType APPLICATION_YAML = MediaType.valueOf("application/x-yaml");
+    private static final ResolvableType PERSON = ResolvableType.forClass(PersonVO.class);
+
+    private static PersonVO person(long key) {
+        var person = new PersonVO();
+        person.setKey(key);
+        person.setFirstName("First Name Test" + key);
+        person.setLastName("Last Name Test" + key);
+        person.setAddress("Addres Test" + key);
+        person.setGender(key % 2 == 0 ? "Male" : "Female");
+        person.add(Link.of("/api/person/v1/" + key));
+        return person;
+    }
+
+    private static List<PersonVO> people() {
+        var people = new ArrayList<PersonVO>();
+        for (long key = 0; key < 14; key++) people.add(person(key));
+        return people;
+    }
+
+    private static String join(Flux<DataBuffer> buffers) {
+        var buffer = DataBufferUtils.join(buffers).block();
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void writesFluxAsServletListDocumentTest() throws Exception {
+        XmlMapper mapper = Jackson2ObjectMapperBuilder.xml().build();
+        var encoder = new Jackson2DocumentEncoder(mapper, MediaType.APPLICATION_XML);
+
+        var document = join(encoder.encode(Flux.fromIterable(people()), DefaultDataBufferFactory.sharedInstance,
+                PERSON, MediaType.APPLICATION_XML, Map.of()));
+
+        assertEquals(mapper.writerFor(new TypeReference<List<PersonVO>>() {}).writeValueAsString(people()), document);
+        assertTrue(document.startsWith("<List><item>"));
+    }
+
+    @Test
+    public void readsWhatItWritesTest() {
+        var mapper = new YAMLMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        var encoder = new Jackson2DocumentEncoder(mapper, APPLICATION_YAML);
+        var decoder = new Jackson2DocumentDecoder(mapper, APPLICATION_YAML);
+
+        var document = encoder.encode(Flux.fromIterable(people()), DefaultDataBufferFactory.sharedInstance,
+                PERSON, APPLICATION_YAML, Map.of());
+        var people = decoder.decode(document, PERSON, APPLICATION_YAML, Map.of()).collectList().block();
+
+        assertEquals(people(), people);
+    }
+
+    @Test
+    public void writesHalForSingleResourcesOnlyTest() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        var encoder = new HalJackson2JsonEncoder(mapper);
+
+        var single = join(encoder.encode(Mono.just(person(1)), DefaultDataBufferFactory.sharedInstance,
+                PERSON, MediaType.APPLICATION_JSON, Map.of()));
+        var page = join(encoder.encode(Flux.just(person(1), person(2)), DefaultDataBufferFactory.sharedInstance,
+                PERSON, MediaType.APPLICATION_JSON, Map.of()));
+
+        assertTrue(single.contains("\"_links\":{\"self\":{\"href\":\"/api/person/v1/1\"}}"), single);
+        assertTrue(page.startsWith("[") && page.contains("\"links\":[{\"rel\":\"self\",\"href\":\"/api/person/v1/2\"}]"), page);
+    }
+}